@@ -0,0 +1,48 @@
+/*
+       Licensed to the Apache Software Foundation (ASF) under one
+       or more contributor license agreements.  See the NOTICE file
+       distributed with this work for additional information
+       regarding copyright ownership.  The ASF licenses this file
+       to you under the Apache License, Version 2.0 (the
+       "License"); you may not use this file except in compliance
+       with the License.  You may obtain a copy of the License at
+
+         http://www.apache.org/licenses/LICENSE-2.0
+
+       Unless required by applicable law or agreed to in writing,
+       software distributed under the License is distributed on an
+       "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+       KIND, either express or implied.  See the License for the
+       specific language governing permissions and limitations
+       under the License.
+*/
+package org.apache.cordova.dialogs;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Runs the JMH benchmarks, writing the results as JSON to jmh-result.json unless
+ * the command line chooses another result format or file, and with the gc
+ * profiler, which reports the bytes allocated per operation, unless the command
+ * line chooses profilers itself.
+ */
+public final class BenchmarkMain {
+
+    private BenchmarkMain() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        List<String> given = Arrays.asList(args);
+        List<String> all = new ArrayList<String>();
+        if (!given.contains("-rf") && !given.contains("-rff")) {
+            all.addAll(Arrays.asList("-rf", "json", "-rff", "jmh-result.json"));
+        }
+        if (!given.contains("-prof")) {
+            all.addAll(Arrays.asList("-prof", "gc"));
+        }
+        all.addAll(given);
+        org.openjdk.jmh.Main.main(all.toArray(new String[all.size()]));
+    }
+}
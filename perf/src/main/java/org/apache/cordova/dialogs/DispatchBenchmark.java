@@ -0,0 +1,131 @@
+/*
+       Licensed to the Apache Software Foundation (ASF) under one
+       or more contributor license agreements.  See the NOTICE file
+       distributed with this work for additional information
+       regarding copyright ownership.  The ASF licenses this file
+       to you under the Apache License, Version 2.0 (the
+       "License"); you may not use this file except in compliance
+       with the License.  You may obtain a copy of the License at
+
+         http://www.apache.org/licenses/LICENSE-2.0
+
+       Unless required by applicable law or agreed to in writing,
+       software distributed under the License is distributed on an
+       "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+       KIND, either express or implied.  See the License for the
+       specific language governing permissions and limitations
+       under the License.
+*/
+package org.apache.cordova.dialogs;
+
+import org.apache.cordova.CallbackContext;
+import org.apache.cordova.CordovaPreferences;
+import org.apache.cordova.CordovaWebView;
+import org.apache.cordova.PluginManager;
+import org.apache.cordova.PluginResult;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of Notification.execute() up to the handler: the traced callback, the
+ * action lookup and the dispatch metrics. Each call gets a new callback
+ * context, as it does from the bridge.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DispatchBenchmark {
+
+    /**
+     * A web view that drops every result.
+     */
+    static final class DiscardingWebView implements CordovaWebView {
+        volatile PluginResult last;
+
+        public PluginManager getPluginManager() {
+            return null;
+        }
+
+        public CordovaPreferences getPreferences() {
+            return null;
+        }
+
+        public void sendPluginResult(PluginResult pluginResult, String callbackId) {
+            this.last = pluginResult;
+        }
+    }
+
+    private final DiscardingWebView webView = new DiscardingWebView();
+    private JvmCordova cordova;
+    private Notification notification;
+    private JSONArray noArgs;
+    private JSONArray progressArgs;
+    private JSONArray batchArgs;
+
+    @Setup
+    public void setUp() throws JSONException {
+        this.cordova = new JvmCordova();
+        this.notification = this.cordova.start(new HeadlessDialogPresenter(null), this.webView, new CordovaPreferences());
+        this.notification.registerAction("noop", new ActionHandler() {
+            public void execute(Notification n, JSONArray args, CallbackContext callbackContext) {
+                callbackContext.success();
+            }
+        });
+        this.noArgs = new JSONArray();
+        this.progressArgs = new JSONArray().put(42);
+        JSONArray calls = new JSONArray();
+        for (int i = 0; i < 10; i++) {
+            calls.put(new JSONArray().put("noop").put(new JSONArray()));
+        }
+        this.batchArgs = new JSONArray().put(calls);
+    }
+
+    @TearDown
+    public void tearDown() {
+        this.notification.onDestroy();
+        this.cordova.shutdown();
+    }
+
+    @Benchmark
+    public boolean executeNoop() throws JSONException {
+        return this.notification.execute("noop", this.noArgs, new CallbackContext("Notification1", this.webView));
+    }
+
+    @Benchmark
+    public boolean executeUnknown() throws JSONException {
+        return this.notification.execute("unknown", this.noArgs, new CallbackContext("Notification1", this.webView));
+    }
+
+    @Benchmark
+    public boolean executeProgressValue() throws JSONException {
+        return this.notification.execute("progressValue", this.progressArgs, new CallbackContext("Notification1", this.webView));
+    }
+
+    /**
+     * Ten no-op actions in one batch, against ten executeNoop calls.
+     */
+    @Benchmark
+    public void executeBatch(Blackhole blackhole) throws JSONException {
+        blackhole.consume(this.notification.execute("batch", this.batchArgs, new CallbackContext("Notification1", this.webView)));
+        blackhole.consume(this.webView.last);
+    }
+}
@@ -0,0 +1,278 @@
+/*
+       Licensed to the Apache Software Foundation (ASF) under one
+       or more contributor license agreements.  See the NOTICE file
+       distributed with this work for additional information
+       regarding copyright ownership.  The ASF licenses this file
+       to you under the Apache License, Version 2.0 (the
+       "License"); you may not use this file except in compliance
+       with the License.  You may obtain a copy of the License at
+
+         http://www.apache.org/licenses/LICENSE-2.0
+
+       Unless required by applicable law or agreed to in writing,
+       software distributed under the License is distributed on an
+       "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+       KIND, either express or implied.  See the License for the
+       specific language governing permissions and limitations
+       under the License.
+*/
+package org.apache.cordova.dialogs;
+
+import org.apache.cordova.CallbackContext;
+import org.apache.cordova.PluginResult;
+
+import android.os.Handler;
+import android.os.Looper;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Presents dialogs without building them: a script plays the user and answers
+ * each dialog once it is "on screen". Runs on the main looper like the Android
+ * presenter, so the scheduler sees the same threading.
+ */
+final class HeadlessDialogPresenter implements DialogPresenter {
+
+    /**
+     * Plays the user. Called on the main looper when a dialog is shown; may
+     * answer it at once, later from any thread, or never (e.g. to let it time out).
+     */
+    interface Script {
+        void respond(Dialog dialog);
+
+        /**
+         * Called on the main looper when the spinner or the progress bar is
+         * shown; may cancel it at once, later from any thread, or never.
+         */
+        void respond(ProgressView view);
+    }
+
+    /**
+     * A dialog on the headless screen.
+     */
+    final class Dialog implements Shown {
+        private final DialogFactory factory;
+        private final CallbackContext callbackContext;
+        private final Listener listener;
+        // Only touched on the main looper.
+        private boolean gone;
+
+        Dialog(DialogFactory factory, CallbackContext callbackContext, Listener listener) {
+            this.factory = factory;
+            this.callbackContext = callbackContext;
+            this.listener = listener;
+        }
+
+        String getAction() {
+            return this.factory.getAction();
+        }
+
+        /**
+         * The user answers: sends the result and closes the dialog.
+         */
+        void answer(final PluginResult result) {
+            post(new Runnable() {
+                public void run() {
+                    if (!gone) {
+                        callbackContext.sendPluginResult(result);
+                        dismiss();
+                    }
+                }
+            });
+        }
+
+        /**
+         * The user presses back.
+         */
+        void cancel() {
+            post(new Runnable() {
+                public void run() {
+                    if (!gone) {
+                        factory.cancel(callbackContext);
+                        dismiss();
+                    }
+                }
+            });
+        }
+
+        public void dismiss() {
+            if (this.gone) {
+                return;
+            }
+            this.gone = true;
+            showing.decrementAndGet();
+            // Android delivers OnDismissListener as a message too.
+            post(new Runnable() {
+                public void run() {
+                    // Nothing was built, so the factory only releases what it set up.
+                    factory.discarded();
+                    listener.dismissed();
+                }
+            });
+        }
+    }
+
+    /**
+     * The spinner or the progress bar on the headless screen.
+     */
+    final class ProgressView implements Progress {
+        private final boolean bar;
+        private final Listener listener;
+        private volatile int value;
+        // Only touched on the main looper.
+        private boolean visible;
+        private boolean gone;
+
+        ProgressView(boolean bar, Listener listener) {
+            this.bar = bar;
+            this.listener = listener;
+        }
+
+        boolean isBar() {
+            return this.bar;
+        }
+
+        /**
+         * @return          The last value set, 0 for the spinner
+         */
+        int getValue() {
+            return this.value;
+        }
+
+        public void show() {
+            if (this.visible || this.gone) {
+                return;
+            }
+            this.visible = true;
+            max((this.bar ? bars : spinners).incrementAndGet(), this.bar ? maxBars : maxSpinners);
+            post(new Runnable() {
+                public void run() {
+                    if (!gone) {
+                        listener.shown();
+                        script.respond(ProgressView.this);
+                    }
+                }
+            });
+        }
+
+        public void setProgress(int value) {
+            if (this.bar) {
+                this.value = value;
+            }
+        }
+
+        /**
+         * The user presses back.
+         */
+        void cancel() {
+            post(new Runnable() {
+                public void run() {
+                    dismiss();
+                }
+            });
+        }
+
+        public void dismiss() {
+            if (!this.visible || this.gone) {
+                return;
+            }
+            this.gone = true;
+            (this.bar ? bars : spinners).decrementAndGet();
+            post(new Runnable() {
+                public void run() {
+                    listener.dismissed();
+                }
+            });
+        }
+    }
+
+    private final Handler handler = new Handler(Looper.getMainLooper());
+    private final Script script;
+    private final AtomicInteger showing = new AtomicInteger();
+    private final AtomicInteger maxShowing = new AtomicInteger();
+    private final AtomicLong shown = new AtomicLong();
+    private final AtomicInteger spinners = new AtomicInteger();
+    private final AtomicInteger maxSpinners = new AtomicInteger();
+    private final AtomicInteger bars = new AtomicInteger();
+    private final AtomicInteger maxBars = new AtomicInteger();
+    private final AtomicLong progressBuilt = new AtomicLong();
+
+    HeadlessDialogPresenter(Script script) {
+        this.script = script;
+    }
+
+    public void post(Runnable task) {
+        this.handler.post(task);
+    }
+
+    public void postDelayed(Runnable task, long delayMillis) {
+        this.handler.postDelayed(task, delayMillis);
+    }
+
+    public void removeCallbacks(Runnable task) {
+        this.handler.removeCallbacks(task);
+    }
+
+    public Shown show(DialogFactory factory, CallbackContext callbackContext, final Listener listener) {
+        final Dialog dialog = new Dialog(factory, callbackContext, listener);
+        max(this.showing.incrementAndGet(), this.maxShowing);
+        this.shown.incrementAndGet();
+        post(new Runnable() {
+            public void run() {
+                if (!dialog.gone) {
+                    listener.shown();
+                    script.respond(dialog);
+                }
+            }
+        });
+        return dialog;
+    }
+
+    public Progress createProgress(String title, String message, boolean bar, Listener listener) {
+        this.progressBuilt.incrementAndGet();
+        return new ProgressView(bar, listener);
+    }
+
+    private void max(int now, AtomicInteger max) {
+        int seen;
+        while (now > (seen = max.get()) && !max.compareAndSet(seen, now)) {
+            // raced with another update, retry
+        }
+    }
+
+    /**
+     * @return          Spinners or progress bars on screen now
+     */
+    int progressShowing(boolean bar) {
+        return (bar ? this.bars : this.spinners).get();
+    }
+
+    /**
+     * @return          Spinners or progress bars on screen at the same time, at most
+     */
+    int maxProgressShowing(boolean bar) {
+        return (bar ? this.maxBars : this.maxSpinners).get();
+    }
+
+    /**
+     * @return          Spinners and progress bars built so far
+     */
+    long progressBuilt() {
+        return this.progressBuilt.get();
+    }
+
+    /**
+     * @return          Dialogs on screen at the same time, at most
+     */
+    int maxShowing() {
+        return this.maxShowing.get();
+    }
+
+    /**
+     * @return          Dialogs shown so far
+     */
+    long shown() {
+        return this.shown.get();
+    }
+}
@@ -0,0 +1,63 @@
+/*
+       Licensed to the Apache Software Foundation (ASF) under one
+       or more contributor license agreements.  See the NOTICE file
+       distributed with this work for additional information
+       regarding copyright ownership.  The ASF licenses this file
+       to you under the Apache License, Version 2.0 (the
+       "License"); you may not use this file except in compliance
+       with the License.  You may obtain a copy of the License at
+
+         http://www.apache.org/licenses/LICENSE-2.0
+
+       Unless required by applicable law or agreed to in writing,
+       software distributed under the License is distributed on an
+       "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+       KIND, either express or implied.  See the License for the
+       specific language governing permissions and limitations
+       under the License.
+*/
+package org.apache.cordova.dialogs;
+
+import org.apache.cordova.CordovaInterface;
+import org.apache.cordova.CordovaPreferences;
+import org.apache.cordova.CordovaWebView;
+
+import android.app.Activity;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Sets up a Notification plugin on the stub Cordova, as the plugin manager
+ * would on a device.
+ */
+final class JvmCordova implements CordovaInterface {
+
+    private final Activity activity = new Activity();
+    private final ExecutorService threadPool = Executors.newCachedThreadPool();
+
+    public Activity getActivity() {
+        return this.activity;
+    }
+
+    public ExecutorService getThreadPool() {
+        return this.threadPool;
+    }
+
+    /**
+     * @param presenter     Presenter of the scheduled dialogs
+     * @param webView       Receives every result
+     * @param preferences   config.xml preferences; prewarming is turned off
+     * @return              An initialized plugin
+     */
+    Notification start(DialogPresenter presenter, CordovaWebView webView, CordovaPreferences preferences) {
+        preferences.set("NotificationPrewarm", false);
+        Notification notification = new Notification(presenter);
+        notification.privateInitialize("Notification", this, webView, preferences);
+        return notification;
+    }
+
+    void shutdown() {
+        this.threadPool.shutdownNow();
+    }
+}
@@ -0,0 +1,116 @@
+/*
+       Licensed to the Apache Software Foundation (ASF) under one
+       or more contributor license agreements.  See the NOTICE file
+       distributed with this work for additional information
+       regarding copyright ownership.  The ASF licenses this file
+       to you under the Apache License, Version 2.0 (the
+       "License"); you may not use this file except in compliance
+       with the License.  You may obtain a copy of the License at
+
+         http://www.apache.org/licenses/LICENSE-2.0
+
+       Unless required by applicable law or agreed to in writing,
+       software distributed under the License is distributed on an
+       "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+       KIND, either express or implied.  See the License for the
+       specific language governing permissions and limitations
+       under the License.
+*/
+package org.apache.cordova.dialogs;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Opening an alert, confirm or prompt with a very large message: cutting it into
+ * chunks, binding the rows of the first screen, and scrolling through all of it.
+ * Run with the gc profiler (the default of BenchmarkMain) for the bytes each
+ * step allocates.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LargeMessageBenchmark {
+
+    /** Rows a dialog shows before the user scrolls. */
+    private static final int FIRST_SCREEN = 4;
+
+    /** Characters; 1 MB of text and the default large message threshold. */
+    @Param({ "1048576", "16384" })
+    public int length;
+
+    /**
+     * lines: a log with line breaks; words: one paragraph; unbroken: no break
+     * or space at all, the slowest case for finding chunk ends.
+     */
+    @Param({ "lines", "words", "unbroken" })
+    public String shape;
+
+    private String text;
+    private LargeMessage message;
+
+    @Setup
+    public void setUp() {
+        StringBuilder text = new StringBuilder(this.length);
+        int i = 0;
+        while (text.length() < this.length) {
+            if ("unbroken".equals(this.shape)) {
+                text.append("abcdefghij");
+            } else {
+                text.append("Line ").append(i++).append(": the quick brown fox jumps over the lazy dog");
+                text.append("lines".equals(this.shape) ? '\n' : ' ');
+            }
+        }
+        text.setLength(this.length);
+        this.text = text.toString();
+        this.message = LargeMessage.split(this.text);
+    }
+
+    /**
+     * The part of opening done while the dialog is prepared, off the UI thread.
+     */
+    @Benchmark
+    public LargeMessage split() {
+        return LargeMessage.split(this.text);
+    }
+
+    /**
+     * Everything opening costs before layout: splitting and the text of the
+     * rows on the first screen.
+     */
+    @Benchmark
+    public int open() {
+        LargeMessage message = LargeMessage.split(this.text);
+        int chars = 0;
+        for (int row = 0; row < Math.min(FIRST_SCREEN, message.size()); row++) {
+            chars += message.chunk(row).length();
+        }
+        return chars;
+    }
+
+    /**
+     * Binding every row once, as scrolling to the end does.
+     */
+    @Benchmark
+    public int scrollThrough() {
+        int chars = 0;
+        for (int row = 0; row < this.message.size(); row++) {
+            chars += this.message.chunk(row).length();
+        }
+        return chars;
+    }
+}
@@ -0,0 +1,127 @@
+/*
+       Licensed to the Apache Software Foundation (ASF) under one
+       or more contributor license agreements.  See the NOTICE file
+       distributed with this work for additional information
+       regarding copyright ownership.  The ASF licenses this file
+       to you under the Apache License, Version 2.0 (the
+       "License"); you may not use this file except in compliance
+       with the License.  You may obtain a copy of the License at
+
+         http://www.apache.org/licenses/LICENSE-2.0
+
+       Unless required by applicable law or agreed to in writing,
+       software distributed under the License is distributed on an
+       "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+       KIND, either express or implied.  See the License for the
+       specific language governing permissions and limitations
+       under the License.
+*/
+package org.apache.cordova.dialogs;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.BitSet;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decoding the list argument of listOptions and checklist in every form it
+ * arrives in, plus the checklist preselection and the de-duplication key.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ListParseBenchmark {
+
+    @Param({ "10", "100", "1000", "10000", "100000" })
+    public int size;
+
+    private String json;
+    private String commaSeparated;
+    private JSONArray array;
+    private JSONObject indices;
+
+    @Setup
+    public void setUp() throws JSONException {
+        this.array = new JSONArray();
+        StringBuilder csv = new StringBuilder();
+        JSONArray checked = new JSONArray();
+        for (int i = 0; i < this.size; i++) {
+            // Some items need unescaping, as accented names do.
+            String item = i % 10 == 0 ? "Item \"" + i + "\"" : "Item " + i;
+            this.array.put(item);
+            csv.append(i == 0 ? "" : ",").append("Item ").append(i);
+            if (i % 3 == 0) {
+                checked.put(i);
+            }
+        }
+        this.json = this.array.toString();
+        this.commaSeparated = csv.toString();
+        this.indices = new JSONObject().put("indices", checked);
+    }
+
+    /**
+     * What the bridge does with the arguments before execute(), for comparison.
+     */
+    @Benchmark
+    public JSONArray bridgeDecode() throws JSONException {
+        return new JSONArray(this.json);
+    }
+
+    /**
+     * A list passed as a JSON string, read in full as the ListView would when scrolled through.
+     */
+    @Benchmark
+    public String parseJsonString() throws JSONException {
+        ListItems items = ListItems.parse(this.json);
+        String last = null;
+        for (int i = 0; i < items.size(); i++) {
+            last = items.get(i);
+        }
+        return last;
+    }
+
+    @Benchmark
+    public ListItems parseJsonStringLazily() throws JSONException {
+        return ListItems.parse(this.json);
+    }
+
+    @Benchmark
+    public ListItems parseCommaSeparated() throws JSONException {
+        return ListItems.parse(this.commaSeparated);
+    }
+
+    @Benchmark
+    public ListItems fromJsonArray() throws JSONException {
+        return ListItems.from(this.array);
+    }
+
+    /**
+     * The de-duplication key of a list passed as an array, built once per dialog.
+     */
+    @Benchmark
+    public String contentKey() throws JSONException {
+        return ListItems.from(this.array).contentKey();
+    }
+
+    @Benchmark
+    public BitSet decodeSelection() throws JSONException {
+        return SelectionCodec.decode(this.indices, this.size);
+    }
+}
@@ -0,0 +1,356 @@
+/*
+       Licensed to the Apache Software Foundation (ASF) under one
+       or more contributor license agreements.  See the NOTICE file
+       distributed with this work for additional information
+       regarding copyright ownership.  The ASF licenses this file
+       to you under the Apache License, Version 2.0 (the
+       "License"); you may not use this file except in compliance
+       with the License.  You may obtain a copy of the License at
+
+         http://www.apache.org/licenses/LICENSE-2.0
+
+       Unless required by applicable law or agreed to in writing,
+       software distributed under the License is distributed on an
+       "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+       KIND, either express or implied.  See the License for the
+       specific language governing permissions and limitations
+       under the License.
+*/
+package org.apache.cordova.dialogs;
+
+import org.apache.cordova.CallbackContext;
+import org.apache.cordova.CordovaPreferences;
+import org.apache.cordova.CordovaWebView;
+import org.apache.cordova.PluginManager;
+import org.apache.cordova.PluginResult;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Sends thousands of concurrent execute() calls of mixed actions to the plugin on
+ * a plain JVM, with a headless presenter playing the user, and reports throughput,
+ * callback latency, and callbacks that were lost or sent twice.
+ *
+ * Settings are system properties:
+ *
+ *     calls       execute() calls in all (20000)
+ *     threads     threads calling execute() at once (16)
+ *     listSize    items of each listOptions and checklist (1000)
+ *     answerMs    longest time the script takes to answer a dialog (5)
+ *     timeoutMs   timeout option of the dialogs, one to three times this (50)
+ *     maxVisible  NotificationMaxVisibleDialogs (4)
+ *     seed        random seed (1)
+ *
+ * Exits with status 1 if any callback was lost or duplicated, more dialogs
+ * were on screen at once than maxVisible allows, or two spinners or two
+ * progress bars were ever on screen together.
+ */
+public final class LoadHarness {
+
+    private static final String[] ACTIONS = {
+        "alert", "confirm", "prompt", "listOptions", "checklist",
+        "activityStart", "activityStop", "progressStart", "progressValue", "progressStop",
+        "toast", "getMetrics", "batch"
+    };
+
+    /**
+     * One execute() call and the results it received.
+     */
+    private static final class Call {
+        final String action;
+        final boolean expectsResult;
+        final long started = System.nanoTime();
+        final AtomicInteger finals = new AtomicInteger();
+        final AtomicInteger keptAlive = new AtomicInteger();
+
+        Call(String action, boolean expectsResult) {
+            this.action = action;
+            this.expectsResult = expectsResult;
+        }
+    }
+
+    /**
+     * Stands in for the web view: counts the results every call receives.
+     */
+    private static final class Recorder implements CordovaWebView {
+        final Map<String, Call> calls = new ConcurrentHashMap<String, Call>();
+        final LatencyHistogram latency = new LatencyHistogram();
+        final Map<String, LatencyHistogram> latencyByAction = new ConcurrentHashMap<String, LatencyHistogram>();
+        final AtomicLong unknown = new AtomicLong();
+        volatile CountDownLatch pending;
+
+        public PluginManager getPluginManager() {
+            return new PluginManager();
+        }
+
+        public CordovaPreferences getPreferences() {
+            return null;
+        }
+
+        public void sendPluginResult(PluginResult result, String callbackId) {
+            Call call = this.calls.get(callbackId);
+            if (call == null) {
+                this.unknown.incrementAndGet();
+                return;
+            }
+            if (result.getKeepCallback()) {
+                call.keptAlive.incrementAndGet();
+                return;
+            }
+            if (call.finals.incrementAndGet() == 1) {
+                long micros = (System.nanoTime() - call.started) / 1000;
+                this.latency.record(micros);
+                this.latencyByAction.get(call.action).record(micros);
+                if (call.expectsResult) {
+                    this.pending.countDown();
+                }
+            }
+        }
+    }
+
+    /**
+     * A callback context that passes every result on, so duplicates are seen
+     * instead of being dropped as Cordova would.
+     */
+    private static final class RecordingCallback extends CallbackContext {
+        private final Recorder recorder;
+
+        RecordingCallback(String callbackId, Recorder recorder) {
+            super(callbackId, recorder);
+            this.recorder = recorder;
+        }
+
+        @Override
+        public void sendPluginResult(PluginResult pluginResult) {
+            this.recorder.sendPluginResult(pluginResult, getCallbackId());
+        }
+    }
+
+    private LoadHarness() {
+    }
+
+    public static void main(String[] argv) throws Exception {
+        final int calls = Integer.getInteger("calls", 20000);
+        final int threads = Integer.getInteger("threads", 16);
+        final int listSize = Integer.getInteger("listSize", 1000);
+        final int answerMs = Integer.getInteger("answerMs", 5);
+        final int timeoutMs = Integer.getInteger("timeoutMs", 50);
+        final int maxVisible = Integer.getInteger("maxVisible", 4);
+        final long seed = Long.getLong("seed", 1L);
+
+        final ScheduledExecutorService user = Executors.newSingleThreadScheduledExecutor();
+        final Random userRandom = new Random(seed);
+        HeadlessDialogPresenter presenter = new HeadlessDialogPresenter(new HeadlessDialogPresenter.Script() {
+            public void respond(final HeadlessDialogPresenter.Dialog dialog) {
+                int roll = userRandom.nextInt(100);
+                if (roll < 5) {
+                    // Walks away: the dialog's timeout answers it.
+                    return;
+                }
+                final boolean back = roll < 15;
+                final PluginResult answer = answerFor(dialog.getAction());
+                user.schedule(new Runnable() {
+                    public void run() {
+                        if (back) {
+                            dialog.cancel();
+                        } else {
+                            dialog.answer(answer);
+                        }
+                    }
+                }, userRandom.nextInt(answerMs + 1), TimeUnit.MILLISECONDS);
+            }
+
+            public void respond(final HeadlessDialogPresenter.ProgressView view) {
+                if (userRandom.nextInt(100) < 10) {
+                    // Gets impatient and presses back.
+                    user.schedule(new Runnable() {
+                        public void run() {
+                            view.cancel();
+                        }
+                    }, userRandom.nextInt(answerMs + 1), TimeUnit.MILLISECONDS);
+                }
+            }
+        });
+
+        final Recorder recorder = new Recorder();
+        for (String action : ACTIONS) {
+            recorder.latencyByAction.put(action, new LatencyHistogram());
+        }
+        JvmCordova cordova = new JvmCordova();
+        CordovaPreferences preferences = new CordovaPreferences();
+        preferences.set("NotificationMaxVisibleDialogs", maxVisible);
+        preferences.set("NotificationMaxPendingDialogs", calls);
+        final Notification notification = cordova.start(presenter, recorder, preferences);
+
+        final JSONArray list = new JSONArray();
+        for (int i = 0; i < listSize; i++) {
+            list.put("Item " + i);
+        }
+
+        // Build every call first, so the timed part only measures the plugin.
+        final String[] actions = new String[calls];
+        final JSONArray[] args = new JSONArray[calls];
+        Random random = new Random(seed);
+        int expected = 0;
+        for (int i = 0; i < calls; i++) {
+            actions[i] = ACTIONS[random.nextInt(ACTIONS.length)];
+            args[i] = argsFor(actions[i], random, list, timeoutMs);
+            if (!"toast".equals(actions[i])) {
+                expected++;
+            }
+        }
+        recorder.pending = new CountDownLatch(expected);
+
+        System.out.println("calls=" + calls + " threads=" + threads + " listSize=" + listSize
+                + " answerMs=" + answerMs + " timeoutMs=" + timeoutMs + " maxVisible=" + maxVisible);
+        final AtomicInteger next = new AtomicInteger();
+        final AtomicLong invalid = new AtomicLong();
+        final CountDownLatch sent = new CountDownLatch(threads);
+        long start = System.nanoTime();
+        for (int t = 0; t < threads; t++) {
+            new Thread(new Runnable() {
+                public void run() {
+                    int i;
+                    while ((i = next.getAndIncrement()) < calls) {
+                        String id = "Notification" + i;
+                        recorder.calls.put(id, new Call(actions[i], !"toast".equals(actions[i])));
+                        try {
+                            if (!notification.execute(actions[i], args[i], new RecordingCallback(id, recorder))) {
+                                invalid.incrementAndGet();
+                            }
+                        } catch (JSONException e) {
+                            invalid.incrementAndGet();
+                        }
+                    }
+                    sent.countDown();
+                }
+            }, "bridge-" + t).start();
+        }
+        sent.await();
+        long sentNanos = System.nanoTime() - start;
+        boolean complete = recorder.pending.await(60, TimeUnit.SECONDS);
+        long doneNanos = System.nanoTime() - start;
+        // Give stray second results a moment to show up.
+        Thread.sleep(Math.max(200, 4L * timeoutMs));
+
+        int lost = 0;
+        int duplicated = 0;
+        Map<String, int[]> byAction = new TreeMap<String, int[]>();
+        for (Call call : recorder.calls.values()) {
+            int[] counts = byAction.get(call.action);
+            if (counts == null) {
+                counts = new int[3];
+                byAction.put(call.action, counts);
+            }
+            counts[0]++;
+            int finals = call.finals.get();
+            if (call.expectsResult && finals == 0) {
+                lost++;
+                counts[1]++;
+            }
+            if (finals > (call.expectsResult ? 1 : 0)) {
+                duplicated++;
+                counts[2]++;
+            }
+        }
+
+        System.out.printf("sent in %.1f ms (%.0f calls/s), all answered in %.1f ms (%.0f calls/s)%s%n",
+                sentNanos / 1e6, calls / (sentNanos / 1e9), doneNanos / 1e6, calls / (doneNanos / 1e9),
+                complete ? "" : ", gave up waiting");
+        System.out.println("callback latency us: " + recorder.latency.toJSON());
+        for (Map.Entry<String, int[]> entry : byAction.entrySet()) {
+            int[] counts = entry.getValue();
+            System.out.printf("  %-14s calls=%-6d lost=%-4d duplicated=%-4d latency us: %s%n", entry.getKey(),
+                    counts[0], counts[1], counts[2], recorder.latencyByAction.get(entry.getKey()).toJSON());
+        }
+        System.out.println("dialogs shown=" + presenter.shown() + " most on screen at once=" + presenter.maxShowing());
+        System.out.println("spinners and progress bars built=" + presenter.progressBuilt()
+                + " most on screen at once: spinners=" + presenter.maxProgressShowing(false)
+                + " bars=" + presenter.maxProgressShowing(true));
+        System.out.println("lost=" + lost + " duplicated=" + duplicated + " invalid=" + invalid.get()
+                + " unknown=" + recorder.unknown.get());
+        System.out.println("metrics: " + notification.getMetrics());
+
+        notification.onDestroy();
+        user.shutdownNow();
+        cordova.shutdown();
+        boolean failed = lost > 0 || duplicated > 0 || invalid.get() > 0 || presenter.maxShowing() > maxVisible
+                || presenter.maxProgressShowing(false) > 1 || presenter.maxProgressShowing(true) > 1;
+        System.exit(failed ? 1 : 0);
+    }
+
+    private static JSONArray argsFor(String action, Random random, JSONArray list, int timeoutMs) throws JSONException {
+        // Few distinct texts, so identical dialogs get collapsed into one.
+        String text = "Message " + random.nextInt(8);
+        JSONObject options = new JSONObject();
+        options.put("priority", random.nextInt(3));
+        // Mixed timeouts, so only dialogs with the same one get merged. Never none:
+        // the script walks away from some dialogs and only a timeout answers those.
+        options.put("timeout", timeoutMs * (1 + random.nextInt(3)));
+        JSONArray buttons = new JSONArray().put("Yes").put("No");
+        if ("alert".equals(action)) {
+            return new JSONArray().put(text).put("Alert").put("OK").put(options);
+        }
+        if ("confirm".equals(action)) {
+            return new JSONArray().put(text).put("Confirm").put(buttons).put(options);
+        }
+        if ("prompt".equals(action)) {
+            return new JSONArray().put(text).put("Prompt").put(buttons).put("default").put(options);
+        }
+        if ("listOptions".equals(action)) {
+            return new JSONArray().put(text).put(list).put("Cancel").put(options);
+        }
+        if ("checklist".equals(action)) {
+            return new JSONArray().put(text).put(list).put(new JSONArray().put(0).put(2)).put("Cancel").put(options);
+        }
+        if ("activityStart".equals(action) || "progressStart".equals(action)) {
+            return new JSONArray().put("Title").put(text);
+        }
+        if ("progressValue".equals(action)) {
+            return new JSONArray().put(random.nextInt(101));
+        }
+        if ("toast".equals(action)) {
+            return new JSONArray().put(text).put("short");
+        }
+        if ("batch".equals(action)) {
+            JSONArray calls = new JSONArray();
+            calls.put(new JSONArray().put("progressValue").put(new JSONArray().put(random.nextInt(101))));
+            calls.put(new JSONArray().put("getMetrics").put(new JSONArray()));
+            return new JSONArray().put(calls);
+        }
+        return new JSONArray();
+    }
+
+    /**
+     * @return          What the dialog would send if the user pressed its first button
+     */
+    private static PluginResult answerFor(String action) {
+        if ("prompt".equals(action)) {
+            JSONObject result = new JSONObject();
+            try {
+                result.put("buttonIndex", 1);
+                result.put("input1", "typed");
+            } catch (JSONException e) {
+                throw new IllegalStateException(e);
+            }
+            return new PluginResult(PluginResult.Status.OK, result);
+        }
+        if ("checklist".equals(action)) {
+            return new PluginResult(PluginResult.Status.OK, new JSONArray().put(true).put(false));
+        }
+        return new PluginResult(PluginResult.Status.OK, 1);
+    }
+}
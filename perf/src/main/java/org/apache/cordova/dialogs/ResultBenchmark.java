@@ -0,0 +1,88 @@
+/*
+       Licensed to the Apache Software Foundation (ASF) under one
+       or more contributor license agreements.  See the NOTICE file
+       distributed with this work for additional information
+       regarding copyright ownership.  The ASF licenses this file
+       to you under the Apache License, Version 2.0 (the
+       "License"); you may not use this file except in compliance
+       with the License.  You may obtain a copy of the License at
+
+         http://www.apache.org/licenses/LICENSE-2.0
+
+       Unless required by applicable law or agreed to in writing,
+       software distributed under the License is distributed on an
+       "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+       KIND, either express or implied.  See the License for the
+       specific language governing permissions and limitations
+       under the License.
+*/
+package org.apache.cordova.dialogs;
+
+import org.apache.cordova.PluginResult;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Building the results of checklist, in each result format, and of prompt,
+ * including their encoding into the message sent over the bridge.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResultBenchmark {
+
+    @Param({ "10", "100", "1000", "10000", "100000" })
+    public int size;
+
+    private BitSet checked;
+    private String typed;
+
+    @Setup
+    public void setUp() {
+        this.checked = new BitSet(this.size);
+        for (int i = 0; i < this.size; i += 3) {
+            this.checked.set(i);
+        }
+        // A prompt answer as long as the list, to see how the input size matters.
+        char[] text = new char[Math.min(this.size, 10000)];
+        Arrays.fill(text, 'a');
+        this.typed = new String(text);
+    }
+
+    @Benchmark
+    public String checklistLegacy() {
+        return SelectionCodec.encode(this.checked, this.size, SelectionCodec.FORMAT_LEGACY).getMessage();
+    }
+
+    @Benchmark
+    public String checklistIndices() {
+        return SelectionCodec.encode(this.checked, this.size, SelectionCodec.FORMAT_INDICES).getMessage();
+    }
+
+    @Benchmark
+    public String checklistBitset() {
+        return SelectionCodec.encode(this.checked, this.size, SelectionCodec.FORMAT_BITSET).getMessage();
+    }
+
+    @Benchmark
+    public String prompt() {
+        return new PluginResult(PluginResult.Status.OK, Notification.promptResult(1, this.typed, "default")).getMessage();
+    }
+}
@@ -0,0 +1,48 @@
+/*
+       Licensed to the Apache Software Foundation (ASF) under one
+       or more contributor license agreements.  See the NOTICE file
+       distributed with this work for additional information
+       regarding copyright ownership.  The ASF licenses this file
+       to you under the Apache License, Version 2.0 (the
+       "License"); you may not use this file except in compliance
+       with the License.  You may obtain a copy of the License at
+
+         http://www.apache.org/licenses/LICENSE-2.0
+
+       Unless required by applicable law or agreed to in writing,
+       software distributed under the License is distributed on an
+       "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+       KIND, either express or implied.  See the License for the
+       specific language governing permissions and limitations
+       under the License.
+*/
+package android;
+
+public final class R {
+    public static final class layout {
+        public static final int select_dialog_item = 1,
+                select_dialog_multichoice = 2,
+                select_dialog_singlechoice = 3,
+                simple_list_item_1 = 4,
+                simple_list_item_multiple_choice = 5;
+    }
+
+    public static final class id {
+        public static final int text1 = 1;
+    }
+
+    public static final class attr {
+        public static final int progressBarStyleSmall = 1,
+                progressBarStyle = 2,
+                textAppearanceSmall = 3,
+                textAppearanceMedium = 4;
+    }
+
+    public static final class style {
+        public static final int TextAppearance_Medium = 1;
+    }
+
+    public static final class string {
+        public static final int ok = 1, cancel = 2;
+    }
+}
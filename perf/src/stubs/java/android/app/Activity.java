@@ -0,0 +1,60 @@
+/*
+       Licensed to the Apache Software Foundation (ASF) under one
+       or more contributor license agreements.  See the NOTICE file
+       distributed with this work for additional information
+       regarding copyright ownership.  The ASF licenses this file
+       to you under the Apache License, Version 2.0 (the
+       "License"); you may not use this file except in compliance
+       with the License.  You may obtain a copy of the License at
+
+         http://www.apache.org/licenses/LICENSE-2.0
+
+       Unless required by applicable law or agreed to in writing,
+       software distributed under the License is distributed on an
+       "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+       KIND, either express or implied.  See the License for the
+       specific language governing permissions and limitations
+       under the License.
+*/
+package android.app;
+
+import android.content.Context;
+import android.content.ContextWrapper;
+import android.os.Handler;
+import android.os.Looper;
+
+/**
+ * Stub of the Activity: runOnUiThread runs on the main looper's thread.
+ */
+public class Activity extends ContextWrapper {
+
+    private final Handler handler = new Handler(Looper.getMainLooper());
+
+    public void runOnUiThread(Runnable action) {
+        if (Looper.getMainLooper().isCurrentThread()) {
+            action.run();
+        } else {
+            this.handler.post(action);
+        }
+    }
+
+    public boolean isFinishing() {
+        return false;
+    }
+
+    public boolean isDestroyed() {
+        return false;
+    }
+
+    public Context getBaseContext() {
+        return this;
+    }
+
+    public android.view.Window getWindow() {
+        return null;
+    }
+
+    public android.view.LayoutInflater getLayoutInflater() {
+        return null;
+    }
+}
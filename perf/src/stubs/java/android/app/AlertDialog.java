@@ -0,0 +1,110 @@
+/*
+       Licensed to the Apache Software Foundation (ASF) under one
+       or more contributor license agreements.  See the NOTICE file
+       distributed with this work for additional information
+       regarding copyright ownership.  The ASF licenses this file
+       to you under the Apache License, Version 2.0 (the
+       "License"); you may not use this file except in compliance
+       with the License.  You may obtain a copy of the License at
+
+         http://www.apache.org/licenses/LICENSE-2.0
+
+       Unless required by applicable law or agreed to in writing,
+       software distributed under the License is distributed on an
+       "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+       KIND, either express or implied.  See the License for the
+       specific language governing permissions and limitations
+       under the License.
+*/
+package android.app;
+
+import android.content.*;
+
+public class AlertDialog extends Dialog {
+    protected AlertDialog(Context c) {
+        super(c);
+    }
+
+    public android.widget.Button getButton(int w) {
+        return null;
+    }
+
+    public android.widget.ListView getListView() {
+        return null;
+    }
+
+    public void setMessage(CharSequence m) {}
+
+    public void setView(android.view.View v) {}
+
+    public void setButton(int which, CharSequence t, DialogInterface.OnClickListener l) {}
+
+    public static class Builder {
+        public Builder(Context c) {}
+
+        public Context getContext() {
+            return null;
+        }
+
+        public Builder setTitle(CharSequence s) {
+            return this;
+        }
+
+        public Builder setMessage(CharSequence s) {
+            return this;
+        }
+
+        public Builder setCancelable(boolean b) {
+            return this;
+        }
+
+        public Builder setItems(CharSequence[] i, DialogInterface.OnClickListener l) {
+            return this;
+        }
+
+        public Builder setAdapter(android.widget.ListAdapter a, DialogInterface.OnClickListener l) {
+            return this;
+        }
+
+        public Builder setMultiChoiceItems(
+                CharSequence[] i, boolean[] c, DialogInterface.OnMultiChoiceClickListener l) {
+            return this;
+        }
+
+        public Builder setPositiveButton(CharSequence s, DialogInterface.OnClickListener l) {
+            return this;
+        }
+
+        public Builder setNegativeButton(CharSequence s, DialogInterface.OnClickListener l) {
+            return this;
+        }
+
+        public Builder setNeutralButton(CharSequence s, DialogInterface.OnClickListener l) {
+            return this;
+        }
+
+        public Builder setOnCancelListener(DialogInterface.OnCancelListener l) {
+            return this;
+        }
+
+        public Builder setOnDismissListener(DialogInterface.OnDismissListener l) {
+            return this;
+        }
+
+        public Builder setView(android.view.View v) {
+            return this;
+        }
+
+        public Builder setCustomTitle(android.view.View v) {
+            return this;
+        }
+
+        public AlertDialog create() {
+            return null;
+        }
+
+        public AlertDialog show() {
+            return null;
+        }
+    }
+}
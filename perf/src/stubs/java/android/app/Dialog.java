@@ -0,0 +1,122 @@
+/*
+       Licensed to the Apache Software Foundation (ASF) under one
+       or more contributor license agreements.  See the NOTICE file
+       distributed with this work for additional information
+       regarding copyright ownership.  The ASF licenses this file
+       to you under the Apache License, Version 2.0 (the
+       "License"); you may not use this file except in compliance
+       with the License.  You may obtain a copy of the License at
+
+         http://www.apache.org/licenses/LICENSE-2.0
+
+       Unless required by applicable law or agreed to in writing,
+       software distributed under the License is distributed on an
+       "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+       KIND, either express or implied.  See the License for the
+       specific language governing permissions and limitations
+       under the License.
+*/
+package android.app;
+
+import android.content.Context;
+import android.content.DialogInterface;
+import android.os.Handler;
+import android.os.Looper;
+
+/**
+ * Stub of a dialog without a window: show() and dismiss() only deliver the
+ * show and dismiss listeners, posted to the main looper as on Android.
+ */
+public class Dialog implements DialogInterface {
+
+    private final Handler handler = new Handler(Looper.getMainLooper());
+    private final Context context;
+    private OnShowListener onShow;
+    private OnDismissListener onDismiss;
+    private OnCancelListener onCancel;
+    private boolean showing;
+
+    public Dialog(Context context) {
+        this.context = context;
+    }
+
+    public void create() {
+    }
+
+    public void show() {
+        if (this.showing) {
+            return;
+        }
+        this.showing = true;
+        final OnShowListener listener = this.onShow;
+        if (listener != null) {
+            this.handler.post(new Runnable() {
+                public void run() {
+                    listener.onShow(Dialog.this);
+                }
+            });
+        }
+    }
+
+    public void dismiss() {
+        if (!this.showing) {
+            return;
+        }
+        this.showing = false;
+        final OnDismissListener listener = this.onDismiss;
+        if (listener != null) {
+            this.handler.post(new Runnable() {
+                public void run() {
+                    listener.onDismiss(Dialog.this);
+                }
+            });
+        }
+    }
+
+    public void cancel() {
+        if (this.onCancel != null) {
+            this.onCancel.onCancel(this);
+        }
+        dismiss();
+    }
+
+    public void hide() {
+    }
+
+    public boolean isShowing() {
+        return this.showing;
+    }
+
+    public void setOnShowListener(OnShowListener listener) {
+        this.onShow = listener;
+    }
+
+    public void setOnDismissListener(OnDismissListener listener) {
+        this.onDismiss = listener;
+    }
+
+    public void setOnCancelListener(OnCancelListener listener) {
+        this.onCancel = listener;
+    }
+
+    public void setCancelable(boolean flag) {
+    }
+
+    public void setCanceledOnTouchOutside(boolean cancel) {
+    }
+
+    public void setTitle(CharSequence title) {
+    }
+
+    public android.view.Window getWindow() {
+        return null;
+    }
+
+    public Context getContext() {
+        return this.context;
+    }
+
+    public Activity getOwnerActivity() {
+        return null;
+    }
+}
@@ -0,0 +1,51 @@
+/*
+       Licensed to the Apache Software Foundation (ASF) under one
+       or more contributor license agreements.  See the NOTICE file
+       distributed with this work for additional information
+       regarding copyright ownership.  The ASF licenses this file
+       to you under the Apache License, Version 2.0 (the
+       "License"); you may not use this file except in compliance
+       with the License.  You may obtain a copy of the License at
+
+         http://www.apache.org/licenses/LICENSE-2.0
+
+       Unless required by applicable law or agreed to in writing,
+       software distributed under the License is distributed on an
+       "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+       KIND, either express or implied.  See the License for the
+       specific language governing permissions and limitations
+       under the License.
+*/
+package android.app;
+
+import android.content.*;
+
+public class ProgressDialog extends AlertDialog {
+    public static final int STYLE_SPINNER = 0, STYLE_HORIZONTAL = 1;
+
+    public ProgressDialog(Context c) {
+        super(c);
+    }
+
+    public static ProgressDialog show(
+            Context c,
+            CharSequence t,
+            CharSequence m,
+            boolean i,
+            boolean cn,
+            DialogInterface.OnCancelListener l) {
+        return null;
+    }
+
+    public void setProgressStyle(int s) {}
+
+    public void setMax(int m) {}
+
+    public void setProgress(int p) {}
+
+    public int getProgress() {
+        return 0;
+    }
+
+    public void setIndeterminate(boolean b) {}
+}
@@ -0,0 +1,60 @@
+/*
+       Licensed to the Apache Software Foundation (ASF) under one
+       or more contributor license agreements.  See the NOTICE file
+       distributed with this work for additional information
+       regarding copyright ownership.  The ASF licenses this file
+       to you under the Apache License, Version 2.0 (the
+       "License"); you may not use this file except in compliance
+       with the License.  You may obtain a copy of the License at
+
+         http://www.apache.org/licenses/LICENSE-2.0
+
+       Unless required by applicable law or agreed to in writing,
+       software distributed under the License is distributed on an
+       "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+       KIND, either express or implied.  See the License for the
+       specific language governing permissions and limitations
+       under the License.
+*/
+package android.media;
+
+public class MediaPlayer {
+    public void setDataSource(android.content.Context c, android.net.Uri u)
+            throws java.io.IOException {}
+
+    public void setAudioStreamType(int t) {}
+
+    public void prepare() throws java.io.IOException {}
+
+    public void start() {}
+
+    public void pause() {}
+
+    public void stop() {}
+
+    public void seekTo(int ms) {}
+
+    public void release() {}
+
+    public boolean isPlaying() {
+        return false;
+    }
+
+    public void reset() {}
+
+    public int getDuration() {
+        return 0;
+    }
+
+    public void setOnCompletionListener(OnCompletionListener l) {}
+
+    public void setOnErrorListener(OnErrorListener l) {}
+
+    public interface OnCompletionListener {
+        void onCompletion(MediaPlayer mp);
+    }
+
+    public interface OnErrorListener {
+        boolean onError(MediaPlayer mp, int what, int extra);
+    }
+}
@@ -0,0 +1,58 @@
+/*
+       Licensed to the Apache Software Foundation (ASF) under one
+       or more contributor license agreements.  See the NOTICE file
+       distributed with this work for additional information
+       regarding copyright ownership.  The ASF licenses this file
+       to you under the Apache License, Version 2.0 (the
+       "License"); you may not use this file except in compliance
+       with the License.  You may obtain a copy of the License at
+
+         http://www.apache.org/licenses/LICENSE-2.0
+
+       Unless required by applicable law or agreed to in writing,
+       software distributed under the License is distributed on an
+       "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+       KIND, either express or implied.  See the License for the
+       specific language governing permissions and limitations
+       under the License.
+*/
+package android.os;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Stub of the handler: runs messages on the main looper's thread.
+ */
+public class Handler {
+
+    private final Looper looper;
+
+    public Handler() {
+        this(Looper.getMainLooper());
+    }
+
+    public Handler(Looper looper) {
+        this.looper = looper;
+    }
+
+    public boolean post(Runnable r) {
+        this.looper.queue.execute(r);
+        return true;
+    }
+
+    public boolean postDelayed(Runnable r, long delayMillis) {
+        this.looper.queue.schedule(r, Math.max(0, delayMillis), TimeUnit.MILLISECONDS);
+        return true;
+    }
+
+    /**
+     * Only removes tasks that have not been taken off the queue yet.
+     */
+    public void removeCallbacks(Runnable r) {
+        this.looper.queue.remove(r);
+    }
+
+    public Looper getLooper() {
+        return this.looper;
+    }
+}
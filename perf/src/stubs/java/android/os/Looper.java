@@ -0,0 +1,61 @@
+/*
+       Licensed to the Apache Software Foundation (ASF) under one
+       or more contributor license agreements.  See the NOTICE file
+       distributed with this work for additional information
+       regarding copyright ownership.  The ASF licenses this file
+       to you under the Apache License, Version 2.0 (the
+       "License"); you may not use this file except in compliance
+       with the License.  You may obtain a copy of the License at
+
+         http://www.apache.org/licenses/LICENSE-2.0
+
+       Unless required by applicable law or agreed to in writing,
+       software distributed under the License is distributed on an
+       "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+       KIND, either express or implied.  See the License for the
+       specific language governing permissions and limitations
+       under the License.
+*/
+package android.os;
+
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Stub of the looper: there is one, the main looper, and it runs on a single
+ * daemon thread standing in for the UI thread.
+ */
+public final class Looper {
+
+    private static final Looper MAIN = new Looper();
+
+    final ScheduledThreadPoolExecutor queue;
+    private volatile Thread thread;
+
+    private Looper() {
+        this.queue = new ScheduledThreadPoolExecutor(1, new ThreadFactory() {
+            public Thread newThread(Runnable r) {
+                Thread t = new Thread(r, "main");
+                t.setDaemon(true);
+                Looper.this.thread = t;
+                return t;
+            }
+        });
+    }
+
+    public static Looper getMainLooper() {
+        return MAIN;
+    }
+
+    public static Looper myLooper() {
+        return Thread.currentThread() == MAIN.thread ? MAIN : null;
+    }
+
+    public Thread getThread() {
+        return this.thread;
+    }
+
+    public boolean isCurrentThread() {
+        return Thread.currentThread() == this.thread;
+    }
+}
@@ -0,0 +1,28 @@
+/*
+       Licensed to the Apache Software Foundation (ASF) under one
+       or more contributor license agreements.  See the NOTICE file
+       distributed with this work for additional information
+       regarding copyright ownership.  The ASF licenses this file
+       to you under the Apache License, Version 2.0 (the
+       "License"); you may not use this file except in compliance
+       with the License.  You may obtain a copy of the License at
+
+         http://www.apache.org/licenses/LICENSE-2.0
+
+       Unless required by applicable law or agreed to in writing,
+       software distributed under the License is distributed on an
+       "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+       KIND, either express or implied.  See the License for the
+       specific language governing permissions and limitations
+       under the License.
+*/
+package android.text;
+
+public class InputType {
+    public static final int TYPE_CLASS_TEXT = 1,
+            TYPE_CLASS_NUMBER = 2,
+            TYPE_NUMBER_FLAG_SIGNED = 4096,
+            TYPE_NUMBER_FLAG_DECIMAL = 8192,
+            TYPE_TEXT_FLAG_NO_SUGGESTIONS = 524288,
+            TYPE_TEXT_VARIATION_FILTER = 176;
+}
@@ -0,0 +1,53 @@
+/*
+       Licensed to the Apache Software Foundation (ASF) under one
+       or more contributor license agreements.  See the NOTICE file
+       distributed with this work for additional information
+       regarding copyright ownership.  The ASF licenses this file
+       to you under the Apache License, Version 2.0 (the
+       "License"); you may not use this file except in compliance
+       with the License.  You may obtain a copy of the License at
+
+         http://www.apache.org/licenses/LICENSE-2.0
+
+       Unless required by applicable law or agreed to in writing,
+       software distributed under the License is distributed on an
+       "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+       KIND, either express or implied.  See the License for the
+       specific language governing permissions and limitations
+       under the License.
+*/
+package android.view;
+
+import android.os.Handler;
+import android.os.Looper;
+
+/**
+ * Stub of the choreographer: frames run on the main looper every 16 ms.
+ */
+public final class Choreographer {
+
+    private static final long FRAME_MILLIS = 16;
+    private static final Choreographer INSTANCE = new Choreographer();
+
+    public interface FrameCallback {
+        void doFrame(long frameTimeNanos);
+    }
+
+    private final Handler handler = new Handler(Looper.getMainLooper());
+
+    public static Choreographer getInstance() {
+        return INSTANCE;
+    }
+
+    public void postFrameCallback(final FrameCallback callback) {
+        long now = System.nanoTime() / 1000000;
+        this.handler.postDelayed(new Runnable() {
+            public void run() {
+                callback.doFrame(System.nanoTime());
+            }
+        }, FRAME_MILLIS - now % FRAME_MILLIS);
+    }
+
+    public void removeFrameCallback(FrameCallback callback) {
+    }
+}
@@ -0,0 +1,61 @@
+/*
+       Licensed to the Apache Software Foundation (ASF) under one
+       or more contributor license agreements.  See the NOTICE file
+       distributed with this work for additional information
+       regarding copyright ownership.  The ASF licenses this file
+       to you under the Apache License, Version 2.0 (the
+       "License"); you may not use this file except in compliance
+       with the License.  You may obtain a copy of the License at
+
+         http://www.apache.org/licenses/LICENSE-2.0
+
+       Unless required by applicable law or agreed to in writing,
+       software distributed under the License is distributed on an
+       "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+       KIND, either express or implied.  See the License for the
+       specific language governing permissions and limitations
+       under the License.
+*/
+package android.view;
+
+import android.content.Context;
+
+public class View {
+    public static final int VISIBLE = 0, INVISIBLE = 4, GONE = 8;
+
+    public View(Context c) {}
+
+    public Context getContext() {
+        return null;
+    }
+
+    public ViewParent getParent() {
+        return null;
+    }
+
+    public void setVisibility(int v) {}
+
+    public void setPadding(int a, int b, int c, int d) {}
+
+    public void setLayoutParams(ViewGroup.LayoutParams p) {}
+
+    public Object getTag() {
+        return null;
+    }
+
+    public void setTag(Object o) {}
+
+    public void setEnabled(boolean b) {}
+
+    public boolean post(Runnable r) {
+        return true;
+    }
+
+    public void setOnClickListener(OnClickListener l) {}
+
+    public interface OnClickListener {
+        void onClick(View v);
+    }
+
+    public void setMinimumHeight(int h) {}
+}
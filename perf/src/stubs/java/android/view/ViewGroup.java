@@ -0,0 +1,41 @@
+/*
+       Licensed to the Apache Software Foundation (ASF) under one
+       or more contributor license agreements.  See the NOTICE file
+       distributed with this work for additional information
+       regarding copyright ownership.  The ASF licenses this file
+       to you under the Apache License, Version 2.0 (the
+       "License"); you may not use this file except in compliance
+       with the License.  You may obtain a copy of the License at
+
+         http://www.apache.org/licenses/LICENSE-2.0
+
+       Unless required by applicable law or agreed to in writing,
+       software distributed under the License is distributed on an
+       "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+       KIND, either express or implied.  See the License for the
+       specific language governing permissions and limitations
+       under the License.
+*/
+package android.view;
+
+import android.content.Context;
+
+public class ViewGroup extends View implements ViewParent {
+    public ViewGroup(Context c) {
+        super(c);
+    }
+
+    public void removeView(View v) {}
+
+    public void addView(View v) {}
+
+    public void addView(View v, LayoutParams p) {}
+
+    public void removeAllViews() {}
+
+    public static class LayoutParams {
+        public static final int MATCH_PARENT = -1, WRAP_CONTENT = -2;
+
+        public LayoutParams(int w, int h) {}
+    }
+}
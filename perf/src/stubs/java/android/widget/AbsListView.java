@@ -0,0 +1,47 @@
+/*
+       Licensed to the Apache Software Foundation (ASF) under one
+       or more contributor license agreements.  See the NOTICE file
+       distributed with this work for additional information
+       regarding copyright ownership.  The ASF licenses this file
+       to you under the Apache License, Version 2.0 (the
+       "License"); you may not use this file except in compliance
+       with the License.  You may obtain a copy of the License at
+
+         http://www.apache.org/licenses/LICENSE-2.0
+
+       Unless required by applicable law or agreed to in writing,
+       software distributed under the License is distributed on an
+       "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+       KIND, either express or implied.  See the License for the
+       specific language governing permissions and limitations
+       under the License.
+*/
+package android.widget;
+
+public class AbsListView extends AdapterView<ListAdapter> {
+    public AbsListView(android.content.Context c) {
+        super(c);
+    }
+
+    public void setFastScrollEnabled(boolean b) {}
+
+    public void setTextFilterEnabled(boolean b) {}
+
+    public void setChoiceMode(int m) {}
+
+    public void setRecyclerListener(RecyclerListener l) {}
+
+    public interface RecyclerListener {
+        void onMovedToScrapHeap(android.view.View v);
+    }
+
+    public void setOnScrollListener(OnScrollListener l) {}
+
+    public interface OnScrollListener {
+        int SCROLL_STATE_IDLE = 0;
+
+        void onScrollStateChanged(AbsListView v, int s);
+
+        void onScroll(AbsListView v, int first, int visible, int total);
+    }
+}
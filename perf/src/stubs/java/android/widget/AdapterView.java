@@ -0,0 +1,47 @@
+/*
+       Licensed to the Apache Software Foundation (ASF) under one
+       or more contributor license agreements.  See the NOTICE file
+       distributed with this work for additional information
+       regarding copyright ownership.  The ASF licenses this file
+       to you under the Apache License, Version 2.0 (the
+       "License"); you may not use this file except in compliance
+       with the License.  You may obtain a copy of the License at
+
+         http://www.apache.org/licenses/LICENSE-2.0
+
+       Unless required by applicable law or agreed to in writing,
+       software distributed under the License is distributed on an
+       "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+       KIND, either express or implied.  See the License for the
+       specific language governing permissions and limitations
+       under the License.
+*/
+package android.widget;
+
+public class AdapterView<T extends Adapter> extends android.view.ViewGroup {
+    public AdapterView(android.content.Context c) {
+        super(c);
+    }
+
+    public void setOnItemClickListener(OnItemClickListener l) {}
+
+    public interface OnItemClickListener {
+        void onItemClick(AdapterView<?> p, android.view.View v, int pos, long id);
+    }
+
+    public int getFirstVisiblePosition() {
+        return 0;
+    }
+
+    public int getLastVisiblePosition() {
+        return 0;
+    }
+
+    public android.view.View getChildAt(int i) {
+        return null;
+    }
+
+    public int getChildCount() {
+        return 0;
+    }
+}
@@ -0,0 +1,55 @@
+/*
+       Licensed to the Apache Software Foundation (ASF) under one
+       or more contributor license agreements.  See the NOTICE file
+       distributed with this work for additional information
+       regarding copyright ownership.  The ASF licenses this file
+       to you under the Apache License, Version 2.0 (the
+       "License"); you may not use this file except in compliance
+       with the License.  You may obtain a copy of the License at
+
+         http://www.apache.org/licenses/LICENSE-2.0
+
+       Unless required by applicable law or agreed to in writing,
+       software distributed under the License is distributed on an
+       "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+       KIND, either express or implied.  See the License for the
+       specific language governing permissions and limitations
+       under the License.
+*/
+package android.widget;
+
+public class ListView extends AbsListView {
+    public static final int CHOICE_MODE_NONE = 0, CHOICE_MODE_SINGLE = 1, CHOICE_MODE_MULTIPLE = 2;
+
+    public ListView(android.content.Context c) {
+        super(c);
+    }
+
+    public void setAdapter(ListAdapter a) {}
+
+    public ListAdapter getAdapter() {
+        return null;
+    }
+
+    public void addFooterView(android.view.View v) {}
+
+    public void addFooterView(android.view.View v, Object d, boolean s) {}
+
+    public boolean removeFooterView(android.view.View v) {
+        return true;
+    }
+
+    public void addHeaderView(android.view.View v) {}
+
+    public void setDivider(Object d) {}
+
+    public void setSelection(int p) {}
+
+    public int getFooterViewsCount() {
+        return 0;
+    }
+
+    public int getHeaderViewsCount() {
+        return 0;
+    }
+}
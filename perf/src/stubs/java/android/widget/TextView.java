@@ -0,0 +1,77 @@
+/*
+       Licensed to the Apache Software Foundation (ASF) under one
+       or more contributor license agreements.  See the NOTICE file
+       distributed with this work for additional information
+       regarding copyright ownership.  The ASF licenses this file
+       to you under the Apache License, Version 2.0 (the
+       "License"); you may not use this file except in compliance
+       with the License.  You may obtain a copy of the License at
+
+         http://www.apache.org/licenses/LICENSE-2.0
+
+       Unless required by applicable law or agreed to in writing,
+       software distributed under the License is distributed on an
+       "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+       KIND, either express or implied.  See the License for the
+       specific language governing permissions and limitations
+       under the License.
+*/
+package android.widget;
+
+import android.content.Context;
+
+public class TextView extends android.view.View {
+    public TextView(Context c) {
+        super(c);
+    }
+
+    public void setText(CharSequence s) {}
+
+    public void setText(CharSequence s, BufferType t) {}
+
+    public CharSequence getText() {
+        return null;
+    }
+
+    public void setHint(CharSequence s) {}
+
+    public void addTextChangedListener(android.text.TextWatcher w) {}
+
+    public void removeTextChangedListener(android.text.TextWatcher w) {}
+
+    public void setSingleLine(boolean b) {}
+
+    public void setInputType(int t) {}
+
+    public void setTextIsSelectable(boolean b) {}
+
+    public void setTextIsSelectable(Object o) {}
+
+    public void setError(CharSequence e) {}
+
+    public void setHorizontallyScrolling(boolean b) {}
+
+    public void setTextAppearance(Context c, int r) {}
+
+    public void setGravity(int g) {}
+
+    public void setSelection(int i) {}
+
+    public enum BufferType {
+        NORMAL,
+        SPANNABLE,
+        EDITABLE
+    }
+
+    public android.text.TextPaint getPaint() {
+        return null;
+    }
+
+    public void setTextMetricsParams(android.text.PrecomputedText.Params p) {}
+
+    public android.text.PrecomputedText.Params getTextMetricsParams() {
+        return null;
+    }
+
+    public void setTextSize(int u, float s) {}
+}
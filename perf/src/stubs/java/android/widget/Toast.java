@@ -0,0 +1,58 @@
+/*
+       Licensed to the Apache Software Foundation (ASF) under one
+       or more contributor license agreements.  See the NOTICE file
+       distributed with this work for additional information
+       regarding copyright ownership.  The ASF licenses this file
+       to you under the Apache License, Version 2.0 (the
+       "License"); you may not use this file except in compliance
+       with the License.  You may obtain a copy of the License at
+
+         http://www.apache.org/licenses/LICENSE-2.0
+
+       Unless required by applicable law or agreed to in writing,
+       software distributed under the License is distributed on an
+       "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+       KIND, either express or implied.  See the License for the
+       specific language governing permissions and limitations
+       under the License.
+*/
+package android.widget;
+
+import android.content.Context;
+
+/**
+ * Stub of a toast that is never drawn.
+ */
+public class Toast {
+
+    public static final int LENGTH_SHORT = 0;
+    public static final int LENGTH_LONG = 1;
+
+    private CharSequence text;
+    private int duration;
+
+    public static Toast makeText(Context context, CharSequence text, int duration) {
+        Toast toast = new Toast();
+        toast.text = text;
+        toast.duration = duration;
+        return toast;
+    }
+
+    public void show() {
+    }
+
+    public void cancel() {
+    }
+
+    public void setText(CharSequence s) {
+        this.text = s;
+    }
+
+    public void setDuration(int duration) {
+        this.duration = duration;
+    }
+
+    public int getDuration() {
+        return this.duration;
+    }
+}
@@ -0,0 +1,58 @@
+/*
+       Licensed to the Apache Software Foundation (ASF) under one
+       or more contributor license agreements.  See the NOTICE file
+       distributed with this work for additional information
+       regarding copyright ownership.  The ASF licenses this file
+       to you under the Apache License, Version 2.0 (the
+       "License"); you may not use this file except in compliance
+       with the License.  You may obtain a copy of the License at
+
+         http://www.apache.org/licenses/LICENSE-2.0
+
+       Unless required by applicable law or agreed to in writing,
+       software distributed under the License is distributed on an
+       "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+       KIND, either express or implied.  See the License for the
+       specific language governing permissions and limitations
+       under the License.
+*/
+package org.apache.cordova;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Stub of the config.xml preferences.
+ */
+public class CordovaPreferences {
+
+    private final Map<String, String> prefs = new HashMap<String, String>();
+
+    public void set(String name, String value) {
+        this.prefs.put(name.toLowerCase(Locale.ENGLISH), value);
+    }
+
+    public void set(String name, boolean value) {
+        set(name, String.valueOf(value));
+    }
+
+    public void set(String name, int value) {
+        set(name, String.valueOf(value));
+    }
+
+    public boolean getBoolean(String name, boolean defaultValue) {
+        String value = this.prefs.get(name.toLowerCase(Locale.ENGLISH));
+        return value == null ? defaultValue : Boolean.parseBoolean(value);
+    }
+
+    public int getInteger(String name, int defaultValue) {
+        String value = this.prefs.get(name.toLowerCase(Locale.ENGLISH));
+        return value == null ? defaultValue : Integer.decode(value);
+    }
+
+    public String getString(String name, String defaultValue) {
+        String value = this.prefs.get(name.toLowerCase(Locale.ENGLISH));
+        return value == null ? defaultValue : value;
+    }
+}
@@ -0,0 +1,52 @@
+/*
+       Licensed to the Apache Software Foundation (ASF) under one
+       or more contributor license agreements.  See the NOTICE file
+       distributed with this work for additional information
+       regarding copyright ownership.  The ASF licenses this file
+       to you under the Apache License, Version 2.0 (the
+       "License"); you may not use this file except in compliance
+       with the License.  You may obtain a copy of the License at
+
+         http://www.apache.org/licenses/LICENSE-2.0
+
+       Unless required by applicable law or agreed to in writing,
+       software distributed under the License is distributed on an
+       "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+       KIND, either express or implied.  See the License for the
+       specific language governing permissions and limitations
+       under the License.
+*/
+package org.apache.cordova;
+
+/**
+ * Stub of the Cordova log: warnings and errors go to stderr, the rest is dropped.
+ */
+public class LOG {
+
+    public static void d(String tag, String s) {
+    }
+
+    public static void d(String tag, String s, Object... args) {
+    }
+
+    public static void i(String tag, String s) {
+    }
+
+    public static void w(String tag, String s) {
+        System.err.println("W/" + tag + ": " + s);
+    }
+
+    public static void w(String tag, String s, Throwable e) {
+        w(tag, s);
+        e.printStackTrace();
+    }
+
+    public static void e(String tag, String s) {
+        System.err.println("E/" + tag + ": " + s);
+    }
+
+    public static void e(String tag, String s, Throwable e) {
+        e(tag, s);
+        e.printStackTrace();
+    }
+}
@@ -0,0 +1,140 @@
+/*
+       Licensed to the Apache Software Foundation (ASF) under one
+       or more contributor license agreements.  See the NOTICE file
+       distributed with this work for additional information
+       regarding copyright ownership.  The ASF licenses this file
+       to you under the Apache License, Version 2.0 (the
+       "License"); you may not use this file except in compliance
+       with the License.  You may obtain a copy of the License at
+
+         http://www.apache.org/licenses/LICENSE-2.0
+
+       Unless required by applicable law or agreed to in writing,
+       software distributed under the License is distributed on an
+       "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+       KIND, either express or implied.  See the License for the
+       specific language governing permissions and limitations
+       under the License.
+*/
+package org.apache.cordova;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import java.util.List;
+
+/**
+ * Stub of the Cordova plugin result: keeps the status, the message as the
+ * string the bridge would send, and keepCallback.
+ */
+public class PluginResult {
+
+    public enum Status {
+        NO_RESULT,
+        OK,
+        CLASS_NOT_FOUND_EXCEPTION,
+        ILLEGAL_ACCESS_EXCEPTION,
+        INSTANTIATION_EXCEPTION,
+        MALFORMED_URL_EXCEPTION,
+        IO_EXCEPTION,
+        INVALID_ACTION,
+        JSON_EXCEPTION,
+        ERROR
+    }
+
+    public static final int MESSAGE_TYPE_STRING = 1;
+    public static final int MESSAGE_TYPE_JSON = 2;
+    public static final int MESSAGE_TYPE_NUMBER = 3;
+    public static final int MESSAGE_TYPE_BOOLEAN = 4;
+    public static final int MESSAGE_TYPE_NULL = 5;
+    public static final int MESSAGE_TYPE_ARRAYBUFFER = 6;
+    public static final int MESSAGE_TYPE_BINARYSTRING = 7;
+    public static final int MESSAGE_TYPE_MULTIPART = 8;
+
+    private final int status;
+    private final int messageType;
+    private final String encodedMessage;
+    private final List<PluginResult> multipart;
+    private boolean keepCallback;
+
+    private PluginResult(Status status, int messageType, String encodedMessage, List<PluginResult> multipart) {
+        this.status = status.ordinal();
+        this.messageType = messageType;
+        this.encodedMessage = encodedMessage;
+        this.multipart = multipart;
+    }
+
+    public PluginResult(Status status) {
+        this(status, MESSAGE_TYPE_STRING, JSONObject.quote(status.name()), null);
+    }
+
+    public PluginResult(Status status, String message) {
+        this(status, message == null ? MESSAGE_TYPE_NULL : MESSAGE_TYPE_STRING,
+                message == null ? "null" : JSONObject.quote(message), null);
+    }
+
+    public PluginResult(Status status, JSONArray message) {
+        this(status, MESSAGE_TYPE_JSON, message.toString(), null);
+    }
+
+    public PluginResult(Status status, JSONObject message) {
+        this(status, MESSAGE_TYPE_JSON, message.toString(), null);
+    }
+
+    public PluginResult(Status status, int i) {
+        this(status, MESSAGE_TYPE_NUMBER, Integer.toString(i), null);
+    }
+
+    public PluginResult(Status status, float f) {
+        this(status, MESSAGE_TYPE_NUMBER, Float.toString(f), null);
+    }
+
+    public PluginResult(Status status, boolean b) {
+        this(status, MESSAGE_TYPE_BOOLEAN, Boolean.toString(b), null);
+    }
+
+    public PluginResult(Status status, byte[] data) {
+        this(status, data, false);
+    }
+
+    public PluginResult(Status status, byte[] data, boolean binaryString) {
+        this(status, binaryString ? MESSAGE_TYPE_BINARYSTRING : MESSAGE_TYPE_ARRAYBUFFER,
+                android.util.Base64.encodeToString(data, android.util.Base64.NO_WRAP), null);
+    }
+
+    public PluginResult(Status status, List<PluginResult> multipart) {
+        this(status, MESSAGE_TYPE_MULTIPART, null, multipart);
+    }
+
+    public void setKeepCallback(boolean keepCallback) {
+        this.keepCallback = keepCallback;
+    }
+
+    public boolean getKeepCallback() {
+        return this.keepCallback;
+    }
+
+    public int getStatus() {
+        return this.status;
+    }
+
+    public int getMessageType() {
+        return this.messageType;
+    }
+
+    public String getMessage() {
+        return this.encodedMessage;
+    }
+
+    public int getMultipartMessagesSize() {
+        return this.multipart.size();
+    }
+
+    public PluginResult getMultipartMessage(int index) {
+        return this.multipart.get(index);
+    }
+
+    public String getStrMessage() {
+        return this.encodedMessage;
+    }
+}
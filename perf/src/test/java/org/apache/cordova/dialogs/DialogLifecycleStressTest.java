@@ -0,0 +1,202 @@
+/*
+       Licensed to the Apache Software Foundation (ASF) under one
+       or more contributor license agreements.  See the NOTICE file
+       distributed with this work for additional information
+       regarding copyright ownership.  The ASF licenses this file
+       to you under the Apache License, Version 2.0 (the
+       "License"); you may not use this file except in compliance
+       with the License.  You may obtain a copy of the License at
+
+         http://www.apache.org/licenses/LICENSE-2.0
+
+       Unless required by applicable law or agreed to in writing,
+       software distributed under the License is distributed on an
+       "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+       KIND, either express or implied.  See the License for the
+       specific language governing permissions and limitations
+       under the License.
+*/
+package org.apache.cordova.dialogs;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.apache.cordova.CallbackContext;
+import org.apache.cordova.CordovaPreferences;
+import org.apache.cordova.CordovaWebView;
+import org.apache.cordova.PluginManager;
+import org.apache.cordova.PluginResult;
+import org.json.JSONArray;
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Fires interleaved activityStart and activityStop calls at the plugin from many
+ * threads, with the user cancelling the spinner now and then, and checks that no
+ * two spinners are ever on screen together and that once the main looper is idle
+ * the spinner follows the last call.
+ */
+public class DialogLifecycleStressTest {
+
+    private static final int ROUNDS = 200;
+    private static final int THREADS = 8;
+    private static final int CALLS = 100;
+
+    // The spinner shown last; the user may cancel it.
+    private final AtomicReference<HeadlessDialogPresenter.ProgressView> spinner =
+            new AtomicReference<HeadlessDialogPresenter.ProgressView>();
+    private final HeadlessDialogPresenter presenter = new HeadlessDialogPresenter(new HeadlessDialogPresenter.Script() {
+        public void respond(HeadlessDialogPresenter.Dialog dialog) {
+        }
+
+        public void respond(HeadlessDialogPresenter.ProgressView view) {
+            if (!view.isBar()) {
+                spinner.set(view);
+            }
+        }
+    });
+    private final AtomicLong results = new AtomicLong();
+    private final CordovaWebView webView = new CordovaWebView() {
+        public PluginManager getPluginManager() {
+            return new PluginManager();
+        }
+
+        public CordovaPreferences getPreferences() {
+            return new CordovaPreferences();
+        }
+
+        public void sendPluginResult(PluginResult pluginResult, String callbackId) {
+            results.incrementAndGet();
+        }
+    };
+    private final JvmCordova cordova = new JvmCordova();
+    private final Notification notification = this.cordova.start(this.presenter, this.webView, new CordovaPreferences());
+    private final AtomicInteger callbackIds = new AtomicInteger();
+
+    @After
+    public void shutdown() {
+        this.cordova.shutdown();
+    }
+
+    private void activityStart() throws Exception {
+        execute("activityStart", new JSONArray().put("Busy").put("Please wait..."));
+    }
+
+    private void activityStop() throws Exception {
+        execute("activityStop", new JSONArray());
+    }
+
+    private void execute(String action, JSONArray args) throws Exception {
+        CallbackContext callbackContext = new CallbackContext("Notification" + this.callbackIds.incrementAndGet(), this.webView);
+        assertTrue(action, this.notification.execute(action, args, callbackContext));
+    }
+
+    private void cancelSpinner() {
+        HeadlessDialogPresenter.ProgressView view = this.spinner.get();
+        if (view != null) {
+            view.cancel();
+        }
+    }
+
+    /**
+     * Waits until the main looper has run everything posted so far, including
+     * the listener calls those tasks post in turn.
+     */
+    private void idle() throws InterruptedException {
+        for (int i = 0; i < 4; i++) {
+            final CountDownLatch done = new CountDownLatch(1);
+            this.presenter.post(new Runnable() {
+                public void run() {
+                    done.countDown();
+                }
+            });
+            assertTrue("main looper stalled", done.await(10, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    public void lastCallWins() throws Exception {
+        final CyclicBarrier go = new CyclicBarrier(THREADS);
+        final AtomicReference<Throwable> failure = new AtomicReference<Throwable>();
+        for (int round = 0; round < ROUNDS; round++) {
+            final long seed = round;
+            Thread[] threads = new Thread[THREADS];
+            for (int t = 0; t < THREADS; t++) {
+                final Random random = new Random(seed * THREADS + t);
+                threads[t] = new Thread(new Runnable() {
+                    public void run() {
+                        try {
+                            go.await();
+                            for (int i = 0; i < CALLS; i++) {
+                                int roll = random.nextInt(10);
+                                if (roll < 5) {
+                                    activityStart();
+                                } else if (roll < 9) {
+                                    activityStop();
+                                } else {
+                                    cancelSpinner();
+                                }
+                            }
+                        } catch (Throwable e) {
+                            failure.compareAndSet(null, e);
+                        }
+                    }
+                }, "bridge-" + t);
+                threads[t].start();
+            }
+            for (Thread thread : threads) {
+                thread.join();
+            }
+            if (failure.get() != null) {
+                throw new AssertionError(failure.get());
+            }
+
+            // Whatever the race left behind, the next call decides the outcome.
+            if (round % 2 == 0) {
+                activityStart();
+                idle();
+                assertEquals("spinners after activityStart", 1, this.presenter.progressShowing(false));
+            } else {
+                activityStop();
+                idle();
+                assertEquals("spinners after activityStop", 0, this.presenter.progressShowing(false));
+            }
+            assertEquals("spinners on screen at once", 1, this.presenter.maxProgressShowing(false));
+        }
+        assertEquals(this.callbackIds.get(), this.results.get());
+    }
+
+    @Test
+    public void stopWhilePendingNeverBuildsTheSpinner() throws Exception {
+        final CountDownLatch blocked = new CountDownLatch(1);
+        // Hold the main looper so that the spinner cannot be built before activityStop.
+        this.presenter.post(new Runnable() {
+            public void run() {
+                awaitQuietly(blocked);
+            }
+        });
+        long before = this.presenter.progressBuilt();
+        activityStart();
+        activityStop();
+        blocked.countDown();
+        idle();
+        assertEquals(0, this.presenter.progressShowing(false));
+        assertEquals(before, this.presenter.progressBuilt());
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
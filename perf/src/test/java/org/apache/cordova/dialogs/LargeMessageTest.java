@@ -0,0 +1,96 @@
+/*
+       Licensed to the Apache Software Foundation (ASF) under one
+       or more contributor license agreements.  See the NOTICE file
+       distributed with this work for additional information
+       regarding copyright ownership.  The ASF licenses this file
+       to you under the Apache License, Version 2.0 (the
+       "License"); you may not use this file except in compliance
+       with the License.  You may obtain a copy of the License at
+
+         http://www.apache.org/licenses/LICENSE-2.0
+
+       Unless required by applicable law or agreed to in writing,
+       software distributed under the License is distributed on an
+       "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+       KIND, either express or implied.  See the License for the
+       specific language governing permissions and limitations
+       under the License.
+*/
+package org.apache.cordova.dialogs;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+/**
+ * Checks where LargeMessage cuts a message into rows: every row starts on a new
+ * line, so only paragraphs too long for one row may be cut inside.
+ */
+public class LargeMessageTest {
+
+    private static String paragraphs(int count, int length) {
+        StringBuilder text = new StringBuilder();
+        for (int p = 0; p < count; p++) {
+            int start = text.length();
+            while (text.length() - start < length) {
+                text.append("the quick brown fox jumps over the lazy dog ");
+            }
+            text.setLength(start + length);
+            text.append('\n');
+        }
+        return text.toString();
+    }
+
+    private static String rejoin(LargeMessage message, String text) {
+        StringBuilder joined = new StringBuilder();
+        for (int i = 0; i < message.size(); i++) {
+            joined.append(message.chunk(i));
+            if (joined.length() < text.length() && text.charAt(joined.length()) == '\n') {
+                joined.append('\n');
+            }
+        }
+        return joined.toString();
+    }
+
+    @Test
+    public void rowsAddUpToTheText() {
+        String text = paragraphs(200, 3000);
+        LargeMessage message = LargeMessage.split(text);
+        assertEquals(text, rejoin(message, text));
+    }
+
+    @Test
+    public void shortLinesShareARow() {
+        String text = paragraphs(10000, 40);
+        LargeMessage message = LargeMessage.split(text);
+        assertTrue(message.size() < text.length() / (LargeMessage.CHUNK / 2));
+        for (int i = 0; i < message.size(); i++) {
+            assertTrue(message.chunk(i).length() <= LargeMessage.CHUNK);
+        }
+    }
+
+    @Test
+    public void paragraphsAreNotCutAtSpaces() {
+        // Longer than CHUNK, so the old cut at a space would have split each of them.
+        String text = paragraphs(100, 5000);
+        LargeMessage message = LargeMessage.split(text);
+        assertEquals(100, message.size());
+        for (int i = 0; i < message.size(); i++) {
+            assertEquals(5000, message.chunk(i).length());
+        }
+    }
+
+    @Test
+    public void longParagraphIsCutAtASpace() {
+        String text = paragraphs(1, 5 * LargeMessage.MAX_CHUNK);
+        LargeMessage message = LargeMessage.split(text);
+        assertTrue(message.size() > 1);
+        for (int i = 0; i < message.size() - 1; i++) {
+            String row = message.chunk(i);
+            assertTrue(row.length() <= LargeMessage.MAX_CHUNK);
+            assertEquals(' ', row.charAt(row.length() - 1));
+        }
+        assertEquals(text, rejoin(message, text));
+    }
+}
@@ -0,0 +1,113 @@
+/*
+       Licensed to the Apache Software Foundation (ASF) under one
+       or more contributor license agreements.  See the NOTICE file
+       distributed with this work for additional information
+       regarding copyright ownership.  The ASF licenses this file
+       to you under the Apache License, Version 2.0 (the
+       "License"); you may not use this file except in compliance
+       with the License.  You may obtain a copy of the License at
+
+         http://www.apache.org/licenses/LICENSE-2.0
+
+       Unless required by applicable law or agreed to in writing,
+       software distributed under the License is distributed on an
+       "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+       KIND, either express or implied.  See the License for the
+       specific language governing permissions and limitations
+       under the License.
+*/
+package org.apache.cordova.dialogs;
+
+import static org.junit.Assert.assertEquals;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The single-pass tokenizer of list arguments, checked against what the
+ * plugin always accepted.
+ */
+public class ListItemsTest {
+
+    private static List<String> parse(String source) throws JSONException {
+        return ListItems.parse(source);
+    }
+
+    @Test
+    public void jsonArray() throws JSONException {
+        assertEquals(Arrays.asList("a", "b", "c"), parse("[\"a\",\"b\",\"c\"]"));
+        assertEquals(Arrays.asList("a", "b"), parse(" [ \"a\" , \"b\" ] "));
+        assertEquals(Collections.<String>emptyList(), parse("[]"));
+        assertEquals(Collections.<String>emptyList(), parse("[ ]"));
+    }
+
+    @Test
+    public void bareValuesKeepTheirText() throws JSONException {
+        assertEquals(Arrays.asList("1", "2.5", "true", "null"), parse("[1, 2.5 ,true,null]"));
+    }
+
+    @Test
+    public void escapes() throws JSONException {
+        assertEquals(Arrays.asList("say \"hi\"", "a\\b", "a/b", "tab\there", "line\nbreak"),
+                parse("[\"say \\\"hi\\\"\",\"a\\\\b\",\"a\\/b\",\"tab\\there\",\"line\\nbreak\"]"));
+        assertEquals(Arrays.asList("S\u00e3o Paulo", "\u20ac", "A"), parse("[\"S\\u00e3o Paulo\",\"\\u20AC\",\"\\u0041\"]"));
+        // A comma inside quotes is part of the item.
+        assertEquals(Arrays.asList("a,b", "c"), parse("[\"a,b\",\"c\"]"));
+    }
+
+    @Test
+    public void matchesTheBridgeEncoder() throws JSONException {
+        JSONArray array = new JSONArray().put("plain").put("quote \" and \\ backslash").put("\u00e7\u00e3\u2603").put("");
+        assertEquals(Arrays.asList("plain", "quote \" and \\ backslash", "\u00e7\u00e3\u2603", ""), parse(array.toString()));
+    }
+
+    @Test
+    public void trailingCommaInArrayIsIgnored() throws JSONException {
+        assertEquals(Arrays.asList("a"), parse("[\"a\",]"));
+        assertEquals(Arrays.asList("a", "b"), parse("[\"a\", \"b\" , ]"));
+        // Only at the end: an empty bare value in the middle stays an item.
+        assertEquals(Arrays.asList("a", "", "b"), parse("[\"a\",,\"b\"]"));
+    }
+
+    @Test
+    public void commaSeparated() throws JSONException {
+        assertEquals(Arrays.asList("a", "b", "c"), parse("a,b,c"));
+        assertEquals(Arrays.asList("a", " b"), parse("a, b"));
+        assertEquals(Arrays.asList("a", "", "c"), parse("a,,c"));
+    }
+
+    @Test
+    public void commaSeparatedDropsQuotes() throws JSONException {
+        assertEquals(Arrays.asList("a", "b"), parse("\"a\",\"b\""));
+        assertEquals(Arrays.asList("a", "b"), parse("\"a\", \"b\""));
+        // A lone quote is kept.
+        assertEquals(Arrays.asList("\"", "x"), parse("\",x"));
+    }
+
+    @Test
+    public void commaSeparatedDropsTrailingEmptyItems() throws JSONException {
+        assertEquals(Arrays.asList("a", "b"), parse("a,b,"));
+        assertEquals(Arrays.asList("a"), parse("a,,"));
+        assertEquals(Collections.<String>emptyList(), parse(""));
+    }
+
+    @Test(expected = JSONException.class)
+    public void unterminatedString() throws JSONException {
+        parse("[\"a");
+    }
+
+    @Test(expected = JSONException.class)
+    public void unterminatedArray() throws JSONException {
+        parse("[\"a\"");
+    }
+
+    @Test(expected = JSONException.class)
+    public void missingComma() throws JSONException {
+        parse("[\"a\" \"b\"]");
+    }
+}
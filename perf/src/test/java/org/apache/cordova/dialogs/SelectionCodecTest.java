@@ -0,0 +1,89 @@
+/*
+       Licensed to the Apache Software Foundation (ASF) under one
+       or more contributor license agreements.  See the NOTICE file
+       distributed with this work for additional information
+       regarding copyright ownership.  The ASF licenses this file
+       to you under the Apache License, Version 2.0 (the
+       "License"); you may not use this file except in compliance
+       with the License.  You may obtain a copy of the License at
+
+         http://www.apache.org/licenses/LICENSE-2.0
+
+       Unless required by applicable law or agreed to in writing,
+       software distributed under the License is distributed on an
+       "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+       KIND, either express or implied.  See the License for the
+       specific language governing permissions and limitations
+       under the License.
+*/
+package org.apache.cordova.dialogs;
+
+import static org.junit.Assert.assertEquals;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.junit.Test;
+
+import android.util.Base64;
+
+import java.util.BitSet;
+
+/**
+ * Decoding the checklist preselection in every form callers send it.
+ */
+public class SelectionCodecTest {
+
+    private static BitSet bits(int... indices) {
+        BitSet bits = new BitSet();
+        for (int i : indices) {
+            bits.set(i);
+        }
+        return bits;
+    }
+
+    @Test
+    public void legacyFlagString() throws JSONException {
+        assertEquals(bits(0, 2), SelectionCodec.decode("[1,0,1]", 3));
+        assertEquals(bits(0, 2), SelectionCodec.decode("[\"1\",\"0\",\"1\"]", 3));
+    }
+
+    @Test
+    public void flagsWithoutBrackets() throws JSONException {
+        assertEquals(bits(0, 2), SelectionCodec.decode("1,0,1", 3));
+        assertEquals(bits(0, 2), SelectionCodec.decode(" 1, 0, 1 ", 3));
+        assertEquals(bits(0), SelectionCodec.decode("1", 3));
+        assertEquals(bits(), SelectionCodec.decode("0", 3));
+    }
+
+    @Test
+    public void base64Bitset() throws JSONException {
+        // Items 0 and 2: 0b101 in the first byte, as Cordova sends an ArrayBuffer.
+        String encoded = Base64.encodeToString(new byte[] { 5 }, Base64.NO_WRAP);
+        assertEquals("BQ==", encoded);
+        assertEquals(bits(0, 2), SelectionCodec.decode(encoded, 3));
+        // Bits beyond the list are ignored.
+        assertEquals(bits(0, 9), SelectionCodec.decode(Base64.encodeToString(new byte[] { 1, 2, 4 }, Base64.NO_WRAP), 16));
+    }
+
+    @Test
+    public void arrayAndIndices() throws JSONException {
+        assertEquals(bits(0, 2), SelectionCodec.decode(new JSONArray("[1,0,1]"), 3));
+        assertEquals(bits(0, 2), SelectionCodec.decode(new JSONArray("[true,false,true]"), 3));
+        assertEquals(bits(0, 2), SelectionCodec.decode(new JSONObject("{\"indices\":[0,2,7,-1]}"), 3));
+    }
+
+    @Test
+    public void emptyMeansNothingChecked() throws JSONException {
+        assertEquals(bits(), SelectionCodec.decode("", 3));
+        assertEquals(bits(), SelectionCodec.decode("[]", 3));
+    }
+
+    @Test
+    public void roundTrip() throws JSONException {
+        BitSet checked = bits(1, 4, 63, 64, 99);
+        assertEquals(checked, SelectionCodec.decode(SelectionCodec.toLegacyString(checked, 100), 100));
+        assertEquals(checked, SelectionCodec.decode(
+                Base64.encodeToString(SelectionCodec.toBytes(checked, 100), Base64.NO_WRAP), 100));
+    }
+}
@@ -0,0 +1,43 @@
+/*
+       Licensed to the Apache Software Foundation (ASF) under one
+       or more contributor license agreements.  See the NOTICE file
+       distributed with this work for additional information
+       regarding copyright ownership.  The ASF licenses this file
+       to you under the Apache License, Version 2.0 (the
+       "License"); you may not use this file except in compliance
+       with the License.  You may obtain a copy of the License at
+
+         http://www.apache.org/licenses/LICENSE-2.0
+
+       Unless required by applicable law or agreed to in writing,
+       software distributed under the License is distributed on an
+       "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+       KIND, either express or implied.  See the License for the
+       specific language governing permissions and limitations
+       under the License.
+*/
+package org.apache.cordova.dialogs;
+
+import org.apache.cordova.CallbackContext;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+
+/**
+ * Runs one action of the Notification plugin.
+ *
+ * The built-in actions are registered when the plugin initializes; other native
+ * modules can add their own with Notification.registerAction().
+ */
+public interface ActionHandler {
+
+    /**
+     * Decodes the arguments and runs the action. The handler is responsible for
+     * sending a result through the callback context, now or later.
+     *
+     * @param notification      The plugin instance
+     * @param args              JSONArray of arguments from JavaScript
+     * @param callbackContext   The callback context
+     */
+    void execute(Notification notification, JSONArray args, CallbackContext callbackContext) throws JSONException;
+}
@@ -0,0 +1,129 @@
+/*
+       Licensed to the Apache Software Foundation (ASF) under one
+       or more contributor license agreements.  See the NOTICE file
+       distributed with this work for additional information
+       regarding copyright ownership.  The ASF licenses this file
+       to you under the Apache License, Version 2.0 (the
+       "License"); you may not use this file except in compliance
+       with the License.  You may obtain a copy of the License at
+
+         http://www.apache.org/licenses/LICENSE-2.0
+
+       Unless required by applicable law or agreed to in writing,
+       software distributed under the License is distributed on an
+       "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+       KIND, either express or implied.  See the License for the
+       specific language governing permissions and limitations
+       under the License.
+*/
+package org.apache.cordova.dialogs;
+
+import org.apache.cordova.CallbackContext;
+
+import android.app.Activity;
+import android.app.Dialog;
+import android.app.ProgressDialog;
+import android.content.DialogInterface;
+import android.os.Handler;
+import android.os.Looper;
+
+/**
+ * Shows the dialogs built by their factories in the Activity's window.
+ */
+final class AndroidDialogPresenter implements DialogPresenter {
+
+    private final Activity activity;
+    private final Handler handler = new Handler(Looper.getMainLooper());
+
+    AndroidDialogPresenter(Activity activity) {
+        this.activity = activity;
+    }
+
+    public void post(Runnable task) {
+        // As Activity.runOnUiThread, but through a handler removeCallbacks() can reach.
+        if (Looper.myLooper() == Looper.getMainLooper()) {
+            task.run();
+        } else {
+            this.handler.post(task);
+        }
+    }
+
+    public void postDelayed(Runnable task, long delayMillis) {
+        this.handler.postDelayed(task, delayMillis);
+    }
+
+    public void removeCallbacks(Runnable task) {
+        this.handler.removeCallbacks(task);
+    }
+
+    public Shown show(final DialogFactory factory, CallbackContext callbackContext, final Listener listener) {
+        final Dialog dialog;
+        try {
+            dialog = factory.create(callbackContext);
+        } catch (RuntimeException e) {
+            factory.discarded();
+            throw e;
+        }
+        dialog.setOnShowListener(new DialogInterface.OnShowListener() {
+            public void onShow(DialogInterface d) {
+                factory.shown(dialog);
+                listener.shown();
+            }
+        });
+        dialog.setOnDismissListener(new DialogInterface.OnDismissListener() {
+            public void onDismiss(DialogInterface d) {
+                factory.dismissed();
+                listener.dismissed();
+            }
+        });
+        try {
+            dialog.show();
+        } catch (RuntimeException e) {
+            // The views were taken for nothing; no dismiss will follow.
+            factory.dismissed();
+            throw e;
+        }
+        return new Shown() {
+            public void dismiss() {
+                dialog.dismiss();
+            }
+        };
+    }
+
+    public Progress createProgress(String title, String message, boolean bar, final Listener listener) {
+        final ProgressDialog dialog = new ProgressDialog(this.activity);
+        if (bar) {
+            dialog.setProgressStyle(ProgressDialog.STYLE_HORIZONTAL);
+            dialog.setMax(100);
+            dialog.setProgress(0);
+        } else {
+            dialog.setIndeterminate(true);
+        }
+        dialog.setTitle(title);
+        dialog.setMessage(message);
+        dialog.setCancelable(true);
+        dialog.setOnShowListener(new DialogInterface.OnShowListener() {
+            public void onShow(DialogInterface d) {
+                listener.shown();
+            }
+        });
+        dialog.setOnDismissListener(new DialogInterface.OnDismissListener() {
+            public void onDismiss(DialogInterface d) {
+                listener.dismissed();
+            }
+        });
+        return new Progress() {
+            public void show() {
+                dialog.show();
+            }
+
+            public void setProgress(int value) {
+                dialog.setProgress(value);
+            }
+
+            public void dismiss() {
+                dialog.dismiss();
+            }
+        };
+    }
+}
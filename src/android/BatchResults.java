@@ -0,0 +1,115 @@
+/*
+       Licensed to the Apache Software Foundation (ASF) under one
+       or more contributor license agreements.  See the NOTICE file
+       distributed with this work for additional information
+       regarding copyright ownership.  The ASF licenses this file
+       to you under the Apache License, Version 2.0 (the
+       "License"); you may not use this file except in compliance
+       with the License.  You may obtain a copy of the License at
+
+         http://www.apache.org/licenses/LICENSE-2.0
+
+       Unless required by applicable law or agreed to in writing,
+       software distributed under the License is distributed on an
+       "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+       KIND, either express or implied.  See the License for the
+       specific language governing permissions and limitations
+       under the License.
+*/
+package org.apache.cordova.dialogs;
+
+import org.apache.cordova.CallbackContext;
+import org.apache.cordova.CordovaWebView;
+import org.apache.cordova.PluginResult;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.json.JSONTokener;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Collects the results of the sub-actions of a batch call.
+ *
+ * Every sub-action is handed its own slot, a CallbackContext that records the first
+ * result sent to it. Once every slot has a result the batch callback receives them
+ * all in one response, in call order, as [{status, message}, ...].
+ */
+class BatchResults {
+
+    private final CallbackContext callbackContext;
+    private final CordovaWebView webView;
+    private final AtomicReferenceArray<JSONObject> results;
+    private final AtomicInteger remaining;
+
+    BatchResults(int count, CallbackContext callbackContext, CordovaWebView webView) {
+        this.callbackContext = callbackContext;
+        this.webView = webView;
+        this.results = new AtomicReferenceArray<JSONObject>(count);
+        this.remaining = new AtomicInteger(count);
+        if (count == 0) {
+            callbackContext.success(new JSONArray());
+        }
+    }
+
+    /**
+     * @param index     Position of the sub-action in the batch
+     * @return          The callback context to pass to the sub-action
+     */
+    CallbackContext slot(int index) {
+        return new Slot(index);
+    }
+
+    private void record(int index, PluginResult result) {
+        JSONObject entry = new JSONObject();
+        try {
+            entry.put("status", result.getStatus());
+            entry.put("message", messageOf(result));
+        } catch (JSONException e) {
+            // Only reached for a message we cannot represent; the status is still reported.
+        }
+        if (!this.results.compareAndSet(index, null, entry)) {
+            // Later results of a sub-action are not part of the batch response.
+            return;
+        }
+        if (this.remaining.decrementAndGet() == 0) {
+            JSONArray response = new JSONArray();
+            for (int i = 0; i < this.results.length(); i++) {
+                response.put(this.results.get(i));
+            }
+            this.callbackContext.success(response);
+        }
+    }
+
+    private static Object messageOf(PluginResult result) throws JSONException {
+        switch (result.getMessageType()) {
+            case PluginResult.MESSAGE_TYPE_STRING:
+                return result.getStrMessage();
+            case PluginResult.MESSAGE_TYPE_ARRAYBUFFER:
+            case PluginResult.MESSAGE_TYPE_BINARYSTRING:
+                // Already base64 encoded by PluginResult.
+                return result.getMessage();
+            default:
+                return new JSONTokener(result.getMessage()).nextValue();
+        }
+    }
+
+    private class Slot extends CallbackContext {
+        private final int index;
+
+        Slot(int index) {
+            super(BatchResults.this.callbackContext.getCallbackId() + "#" + index, BatchResults.this.webView);
+            this.index = index;
+        }
+
+        @Override
+        public void sendPluginResult(PluginResult pluginResult) {
+            if (pluginResult.getStatus() == PluginResult.Status.NO_RESULT.ordinal()) {
+                return;
+            }
+            record(this.index, pluginResult);
+        }
+    }
+}
@@ -0,0 +1,217 @@
+/*
+       Licensed to the Apache Software Foundation (ASF) under one
+       or more contributor license agreements.  See the NOTICE file
+       distributed with this work for additional information
+       regarding copyright ownership.  The ASF licenses this file
+       to you under the Apache License, Version 2.0 (the
+       "License"); you may not use this file except in compliance
+       with the License.  You may obtain a copy of the License at
+
+         http://www.apache.org/licenses/LICENSE-2.0
+
+       Unless required by applicable law or agreed to in writing,
+       software distributed under the License is distributed on an
+       "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+       KIND, either express or implied.  See the License for the
+       specific language governing permissions and limitations
+       under the License.
+*/
+package org.apache.cordova.dialogs;
+
+import org.apache.cordova.CallbackContext;
+import org.apache.cordova.LOG;
+import org.apache.cordova.PluginResult;
+
+import android.content.Context;
+import android.media.AudioManager;
+import android.media.MediaPlayer;
+import android.media.RingtoneManager;
+import android.net.Uri;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Plays the default notification sound a number of times without blocking the caller.
+ *
+ * The sound is decoded into a MediaPlayer once and rewound for every beep. All state
+ * is owned by a single scheduled executor: a beep ends when the player reports
+ * completion, or after MAX_BEEP_MILLIS if it never does, and the next one is started
+ * from there. A new sequence or stop() cancels the running one, which then reports
+ * how many beeps it played.
+ */
+class BeepPlayer implements MediaPlayer.OnCompletionListener, MediaPlayer.OnErrorListener {
+
+    private static final String LOG_TAG = "Notification";
+    private static final long MAX_BEEP_MILLIS = 5000;
+
+    private final Context context;
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
+
+    // Only touched on the executor thread.
+    private MediaPlayer player;
+    private Sequence current;
+
+    // Identifies the beep that is playing; read from the player's callback thread.
+    private volatile int beepToken;
+
+    private static class Sequence {
+        final long count;
+        final CallbackContext callbackContext;
+        long played;
+        ScheduledFuture<?> watchdog;
+
+        Sequence(long count, CallbackContext callbackContext) {
+            this.count = count;
+            this.callbackContext = callbackContext;
+        }
+    }
+
+    BeepPlayer(Context context) {
+        this.context = context.getApplicationContext();
+    }
+
+    /**
+     * Starts a new beep sequence, cancelling the one that is playing.
+     *
+     * @param count             Number of times to play the sound
+     * @param callbackContext   Receives the number of beeps played once the sequence ends, may be null
+     */
+    void play(final long count, final CallbackContext callbackContext) {
+        this.executor.execute(new Runnable() {
+            public void run() {
+                finish(current);
+                Sequence sequence = new Sequence(count, callbackContext);
+                current = sequence;
+                if (preparePlayer()) {
+                    playNext(sequence);
+                } else {
+                    // No notification sound set, or the phone is in silent mode.
+                    finish(sequence);
+                }
+            }
+        });
+    }
+
+    /**
+     * Cancels the sequence that is playing, if any.
+     */
+    void stop() {
+        this.executor.execute(new Runnable() {
+            public void run() {
+                if (player != null && player.isPlaying()) {
+                    player.pause();
+                }
+                finish(current);
+            }
+        });
+    }
+
+    /**
+     * Cancels playback and frees the decoded sound. The player cannot be used afterwards.
+     */
+    void release() {
+        this.executor.execute(new Runnable() {
+            public void run() {
+                finish(current);
+                releasePlayer();
+            }
+        });
+        this.executor.shutdown();
+    }
+
+    public void onCompletion(MediaPlayer mp) {
+        final int token = this.beepToken;
+        this.executor.execute(new Runnable() {
+            public void run() {
+                beepDone(token);
+            }
+        });
+    }
+
+    public boolean onError(MediaPlayer mp, int what, int extra) {
+        LOG.w(LOG_TAG, "Beep playback failed (" + what + ", " + extra + ")");
+        this.executor.execute(new Runnable() {
+            public void run() {
+                finish(current);
+                releasePlayer();
+            }
+        });
+        return true;
+    }
+
+    private boolean preparePlayer() {
+        if (this.player != null) {
+            return true;
+        }
+        Uri ringtone = RingtoneManager.getDefaultUri(RingtoneManager.TYPE_NOTIFICATION);
+        if (ringtone == null) {
+            return false;
+        }
+        MediaPlayer mp = new MediaPlayer();
+        try {
+            mp.setDataSource(this.context, ringtone);
+            mp.setAudioStreamType(AudioManager.STREAM_NOTIFICATION);
+            mp.prepare();
+        } catch (Exception e) {
+            LOG.w(LOG_TAG, "Unable to load the notification sound", e);
+            mp.release();
+            return false;
+        }
+        mp.setOnCompletionListener(this);
+        mp.setOnErrorListener(this);
+        this.player = mp;
+        return true;
+    }
+
+    private void releasePlayer() {
+        if (this.player != null) {
+            this.player.release();
+            this.player = null;
+        }
+    }
+
+    private void playNext(final Sequence sequence) {
+        if (sequence.played >= sequence.count) {
+            finish(sequence);
+            return;
+        }
+        sequence.played++;
+        final int token = ++this.beepToken;
+        this.player.seekTo(0);
+        this.player.start();
+        sequence.watchdog = this.executor.schedule(new Runnable() {
+            public void run() {
+                beepDone(token);
+            }
+        }, MAX_BEEP_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    private void beepDone(int token) {
+        Sequence sequence = this.current;
+        if (sequence == null || token != this.beepToken) {
+            // A late completion of a beep that was already timed out or cancelled.
+            return;
+        }
+        sequence.watchdog.cancel(false);
+        playNext(sequence);
+    }
+
+    private void finish(Sequence sequence) {
+        if (sequence == null) {
+            return;
+        }
+        if (sequence == this.current) {
+            this.current = null;
+            this.beepToken++;
+        }
+        if (sequence.watchdog != null) {
+            sequence.watchdog.cancel(false);
+        }
+        if (sequence.callbackContext != null) {
+            sequence.callbackContext.sendPluginResult(new PluginResult(PluginResult.Status.OK, (int) sequence.played));
+        }
+    }
+}
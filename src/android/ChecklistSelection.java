@@ -0,0 +1,155 @@
+/*
+       Licensed to the Apache Software Foundation (ASF) under one
+       or more contributor license agreements.  See the NOTICE file
+       distributed with this work for additional information
+       regarding copyright ownership.  The ASF licenses this file
+       to you under the Apache License, Version 2.0 (the
+       "License"); you may not use this file except in compliance
+       with the License.  You may obtain a copy of the License at
+
+         http://www.apache.org/licenses/LICENSE-2.0
+
+       Unless required by applicable law or agreed to in writing,
+       software distributed under the License is distributed on an
+       "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+       KIND, either express or implied.  See the License for the
+       specific language governing permissions and limitations
+       under the License.
+*/
+package org.apache.cordova.dialogs;
+
+import org.apache.cordova.CallbackContext;
+import org.apache.cordova.LOG;
+import org.apache.cordova.PluginResult;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.util.BitSet;
+
+/**
+ * The checked items of an open checklist, with the changes JavaScript has not
+ * been told about yet.
+ *
+ * Taps only flip a bit in a change set; once per frame the changes are sent as
+ * one keep-alive result of the checklist's callback, carrying just the items
+ * whose state changed. An item tapped twice within a frame is not reported.
+ * Selecting or clearing all items is a single operation and a single event,
+ * whatever the size of the list. Being keep-alive, the events do not end the
+ * checklist's latency trace; the confirm or cancel result does.
+ *
+ * Owned by the UI thread.
+ */
+final class ChecklistSelection {
+
+    private static final String LOG_TAG = "Notification";
+
+    private final BitSet checked;
+    private final int size;
+    private final BitSet changed = new BitSet();
+    private final FrameCoalescer frames;
+    private CallbackContext callbackContext;
+    // Set by setAll() until the next event: TRUE, FALSE or null.
+    private Boolean all;
+
+    /**
+     * @param checked           The checked state, shared with the adapter
+     * @param size              Number of items
+     * @param callbackContext   Receives the changes, or null to only keep the state
+     */
+    ChecklistSelection(DialogPresenter presenter, BitSet checked, int size, CallbackContext callbackContext) {
+        this.checked = checked;
+        this.size = size;
+        this.callbackContext = callbackContext;
+        this.frames = new FrameCoalescer(presenter, new FrameCoalescer.Frame() {
+            public void onFrame() {
+                send();
+            }
+        });
+    }
+
+    /**
+     * @param options   The checklist's options
+     * @return          The labels of the select all button, [select, clear], or
+     *                  null if the option is not set
+     */
+    static String[] selectAllLabels(JSONObject options) {
+        Object labels = options == null ? null : options.opt("selectAll");
+        if (labels instanceof JSONArray && ((JSONArray) labels).length() >= 2) {
+            return new String[] { ((JSONArray) labels).optString(0), ((JSONArray) labels).optString(1) };
+        }
+        if (Boolean.TRUE.equals(labels)) {
+            return new String[] { "Select all", "Clear all" };
+        }
+        return null;
+    }
+
+    /**
+     * An item was tapped; its state in checked has already been flipped.
+     */
+    void toggled(int item) {
+        this.changed.flip(item);
+        request();
+    }
+
+    boolean allChecked() {
+        return this.checked.nextClearBit(0) >= this.size;
+    }
+
+    /**
+     * Checks or clears every item.
+     */
+    void setAll(boolean value) {
+        if (value) {
+            this.checked.set(0, this.size);
+        } else {
+            this.checked.clear();
+        }
+        this.all = value;
+        // The event reports the whole list; taps before it no longer matter.
+        this.changed.clear();
+        request();
+    }
+
+    /**
+     * The dialog is gone: changes not sent yet are dropped.
+     */
+    void close() {
+        this.callbackContext = null;
+    }
+
+    private void request() {
+        if (this.callbackContext != null) {
+            this.frames.request();
+        }
+    }
+
+    private void send() {
+        if (this.callbackContext == null || (this.all == null && this.changed.isEmpty())) {
+            return;
+        }
+        try {
+            JSONObject event = new JSONObject();
+            event.put("event", "selection");
+            if (this.all != null) {
+                event.put("all", this.all.booleanValue());
+            }
+            JSONArray on = new JSONArray();
+            JSONArray off = new JSONArray();
+            for (int i = this.changed.nextSetBit(0); i >= 0; i = this.changed.nextSetBit(i + 1)) {
+                (this.checked.get(i) ? on : off).put(i);
+            }
+            event.put("checked", on);
+            event.put("unchecked", off);
+            event.put("count", this.checked.cardinality());
+            PluginResult result = new PluginResult(PluginResult.Status.OK, event);
+            result.setKeepCallback(true);
+            this.callbackContext.sendPluginResult(result);
+        } catch (JSONException e) {
+            LOG.e(LOG_TAG, "Unable to send checklist selection", e);
+        }
+        this.all = null;
+        this.changed.clear();
+    }
+}
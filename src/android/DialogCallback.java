@@ -0,0 +1,72 @@
+/*
+       Licensed to the Apache Software Foundation (ASF) under one
+       or more contributor license agreements.  See the NOTICE file
+       distributed with this work for additional information
+       regarding copyright ownership.  The ASF licenses this file
+       to you under the Apache License, Version 2.0 (the
+       "License"); you may not use this file except in compliance
+       with the License.  You may obtain a copy of the License at
+
+         http://www.apache.org/licenses/LICENSE-2.0
+
+       Unless required by applicable law or agreed to in writing,
+       software distributed under the License is distributed on an
+       "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+       KIND, either express or implied.  See the License for the
+       specific language governing permissions and limitations
+       under the License.
+*/
+package org.apache.cordova.dialogs;
+
+import org.apache.cordova.CallbackContext;
+import org.apache.cordova.CordovaWebView;
+import org.apache.cordova.PluginResult;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * The callback a scheduled dialog reports to.
+ *
+ * Identical dialogs that were waiting in the queue are collapsed into one; each of
+ * their callers is added here and receives every result the dialog sends.
+ *
+ * Only the first final result gets through: a button tap that races with a
+ * timeout or a teardown cannot answer the caller twice. Keep-alive results pass
+ * until then.
+ */
+class DialogCallback extends CallbackContext {
+
+    private final List<CallbackContext> waiting = new CopyOnWriteArrayList<CallbackContext>();
+    private final AtomicBoolean answered = new AtomicBoolean();
+
+    DialogCallback(CallbackContext callbackContext, CordovaWebView webView) {
+        super(callbackContext.getCallbackId(), webView);
+        this.waiting.add(callbackContext);
+    }
+
+    /**
+     * Adds the caller of a dialog that was collapsed into this one.
+     */
+    void add(CallbackContext callbackContext) {
+        this.waiting.add(callbackContext);
+    }
+
+    /**
+     * @return          True once a final (not keep-alive) result was sent
+     */
+    boolean isAnswered() {
+        return this.answered.get();
+    }
+
+    @Override
+    public void sendPluginResult(PluginResult pluginResult) {
+        if (pluginResult.getKeepCallback() ? this.answered.get() : !this.answered.compareAndSet(false, true)) {
+            return;
+        }
+        for (CallbackContext callbackContext : this.waiting) {
+            callbackContext.sendPluginResult(pluginResult);
+        }
+    }
+}
@@ -0,0 +1,103 @@
+/*
+       Licensed to the Apache Software Foundation (ASF) under one
+       or more contributor license agreements.  See the NOTICE file
+       distributed with this work for additional information
+       regarding copyright ownership.  The ASF licenses this file
+       to you under the Apache License, Version 2.0 (the
+       "License"); you may not use this file except in compliance
+       with the License.  You may obtain a copy of the License at
+
+         http://www.apache.org/licenses/LICENSE-2.0
+
+       Unless required by applicable law or agreed to in writing,
+       software distributed under the License is distributed on an
+       "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+       KIND, either express or implied.  See the License for the
+       specific language governing permissions and limitations
+       under the License.
+*/
+package org.apache.cordova.dialogs;
+
+import org.apache.cordova.CallbackContext;
+import org.apache.cordova.PluginResult;
+
+import android.app.Dialog;
+
+/**
+ * Builds a dialog on the UI thread once the dialog scheduler is ready to show it.
+ *
+ * Pass one to Notification.showDialog() to have a custom dialog queued, prioritized
+ * and de-duplicated together with the plugin's own dialogs.
+ */
+public abstract class DialogFactory {
+
+    final String action;
+
+    /**
+     * @param action    The action the dialog belongs to, e.g. "alert"
+     */
+    protected DialogFactory(String action) {
+        this.action = action;
+    }
+
+    public String getAction() {
+        return this.action;
+    }
+
+    /**
+     * @return          A key that is equal for dialogs that look and behave the same
+     */
+    public abstract String key();
+
+    /**
+     * @param callbackContext   The callback the dialog's listeners report to
+     * @return                  The dialog, created but not shown
+     */
+    public abstract Dialog create(CallbackContext callbackContext);
+
+    /**
+     * Resolves the dialog as if the user had dismissed it with the back button.
+     * Used when the page or the Activity goes away while the dialog is on screen
+     * or still waiting in the queue.
+     *
+     * @param callbackContext   The callback the dialog reports to
+     */
+    public void cancel(CallbackContext callbackContext) {
+        callbackContext.sendPluginResult(new PluginResult(PluginResult.Status.OK, 0));
+    }
+
+    /**
+     * Resolves the dialog when its timeout option expired before the user
+     * answered. The result must differ from every answer the user can give.
+     *
+     * @param callbackContext   The callback the dialog reports to
+     */
+    public void timeout(CallbackContext callbackContext) {
+        callbackContext.sendPluginResult(new PluginResult(PluginResult.Status.OK, -1));
+    }
+
+    /**
+     * Called on the UI thread once the dialog built by create() is on screen,
+     * e.g. to reach its buttons, which only exist from then on.
+     *
+     * @param dialog            The dialog create() returned
+     */
+    public void shown(Dialog dialog) {
+    }
+
+    /**
+     * Called on the UI thread once the dialog built by create() is gone, to
+     * recycle its views. Not called for dialogs that were never built.
+     */
+    public void dismissed() {
+    }
+
+    /**
+     * Called on the UI thread when the dialog is resolved without create()
+     * having built it, or without a dialog coming out of it: rejected by a full
+     * queue, cancelled while waiting, or failing to build. Releases whatever was
+     * set up for the dialog before it was queued.
+     */
+    public void discarded() {
+    }
+}
@@ -0,0 +1,179 @@
+/*
+       Licensed to the Apache Software Foundation (ASF) under one
+       or more contributor license agreements.  See the NOTICE file
+       distributed with this work for additional information
+       regarding copyright ownership.  The ASF licenses this file
+       to you under the Apache License, Version 2.0 (the
+       "License"); you may not use this file except in compliance
+       with the License.  You may obtain a copy of the License at
+
+         http://www.apache.org/licenses/LICENSE-2.0
+
+       Unless required by applicable law or agreed to in writing,
+       software distributed under the License is distributed on an
+       "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+       KIND, either express or implied.  See the License for the
+       specific language governing permissions and limitations
+       under the License.
+*/
+package org.apache.cordova.dialogs;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Lifecycle of a dialog of which at most one exists at a time, such as the spinner.
+ *
+ *     PENDING     start() was called, the dialog is being built on the UI thread
+ *     SHOWING     the dialog is on screen
+ *     DISMISSING  stop() was called, the dismiss is on its way to the UI thread
+ *     GONE        no dialog
+ *
+ * Every start() opens a new generation. The whole state is one immutable value
+ * swapped with compare-and-set, so start and stop may be called from any thread
+ * in any order: a stop that arrives while the dialog is still PENDING moves it
+ * straight to GONE and the dialog is never shown, and callbacks that belong to an
+ * older generation are ignored. Dismissals are posted through the presenter.
+ *
+ * A caller of start() may be preempted between opening its generation and posting
+ * the dismissal of the old dialog, long enough for the new dialog to be built. So
+ * the UI thread also remembers which dialog it put on screen, and takes it down
+ * itself before showing the next one.
+ */
+final class DialogLifecycle<T extends DialogPresenter.Shown> {
+
+    static final int PENDING = 0;
+    static final int SHOWING = 1;
+    static final int DISMISSING = 2;
+    static final int GONE = 3;
+
+    private static final class State<T> {
+        final long generation;
+        final int phase;
+        final T dialog;
+
+        State(long generation, int phase, T dialog) {
+            this.generation = generation;
+            this.phase = phase;
+            this.dialog = dialog;
+        }
+    }
+
+    private final DialogPresenter presenter;
+    private final AtomicReference<State<T>> state = new AtomicReference<State<T>>(new State<T>(0, GONE, null));
+    // Only touched on the UI thread.
+    private T onScreen;
+    private long onScreenGeneration;
+
+    DialogLifecycle(DialogPresenter presenter) {
+        this.presenter = presenter;
+    }
+
+    /**
+     * Opens a new generation, dismissing the dialog of the previous one.
+     *
+     * @return          The generation token to pass to showing() and dismissed()
+     */
+    long start() {
+        while (true) {
+            State<T> current = this.state.get();
+            State<T> next = new State<T>(current.generation + 1, PENDING, null);
+            if (this.state.compareAndSet(current, next)) {
+                dismiss(current.dialog);
+                return next.generation;
+            }
+        }
+    }
+
+    /**
+     * @return          True if the generation is still waiting for its dialog
+     */
+    boolean isPending(long generation) {
+        State<T> current = this.state.get();
+        return current.generation == generation && current.phase == PENDING;
+    }
+
+    /**
+     * Publishes the dialog built for a generation. Call on the UI thread before
+     * showing it.
+     *
+     * @return          False if the generation was stopped or replaced meanwhile;
+     *                  the dialog must then not be shown
+     */
+    boolean showing(long generation, T dialog) {
+        while (true) {
+            State<T> current = this.state.get();
+            if (current.generation != generation || current.phase != PENDING) {
+                return false;
+            }
+            if (this.state.compareAndSet(current, new State<T>(generation, SHOWING, dialog))) {
+                if (this.onScreen != null) {
+                    this.onScreen.dismiss();
+                }
+                this.onScreen = dialog;
+                this.onScreenGeneration = generation;
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Ends the current generation, whatever phase it is in.
+     */
+    void stop() {
+        while (true) {
+            State<T> current = this.state.get();
+            if (current.phase == GONE || current.phase == DISMISSING) {
+                return;
+            }
+            State<T> next = current.phase == PENDING
+                    ? new State<T>(current.generation, GONE, null)
+                    : new State<T>(current.generation, DISMISSING, current.dialog);
+            if (this.state.compareAndSet(current, next)) {
+                dismiss(current.dialog);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Records that the dialog of a generation went away, by stop() or because
+     * the user cancelled it. Call from its OnDismissListener.
+     */
+    void dismissed(long generation) {
+        if (this.onScreen != null && this.onScreenGeneration == generation) {
+            this.onScreen = null;
+        }
+        while (true) {
+            State<T> current = this.state.get();
+            if (current.generation != generation || current.phase == GONE || current.phase == PENDING) {
+                return;
+            }
+            if (this.state.compareAndSet(current, new State<T>(generation, GONE, null))) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * @return          The dialog on screen, or null
+     */
+    T current() {
+        State<T> current = this.state.get();
+        return current.phase == SHOWING ? current.dialog : null;
+    }
+
+    int phase() {
+        return this.state.get().phase;
+    }
+
+    private void dismiss(final T dialog) {
+        if (dialog == null) {
+            return;
+        }
+        this.presenter.post(new Runnable() {
+            public void run() {
+                dialog.dismiss();
+            }
+        });
+    }
+}
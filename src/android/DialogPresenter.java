@@ -0,0 +1,105 @@
+/*
+       Licensed to the Apache Software Foundation (ASF) under one
+       or more contributor license agreements.  See the NOTICE file
+       distributed with this work for additional information
+       regarding copyright ownership.  The ASF licenses this file
+       to you under the Apache License, Version 2.0 (the
+       "License"); you may not use this file except in compliance
+       with the License.  You may obtain a copy of the License at
+
+         http://www.apache.org/licenses/LICENSE-2.0
+
+       Unless required by applicable law or agreed to in writing,
+       software distributed under the License is distributed on an
+       "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+       KIND, either express or implied.  See the License for the
+       specific language governing permissions and limitations
+       under the License.
+*/
+package org.apache.cordova.dialogs;
+
+import org.apache.cordova.CallbackContext;
+
+/**
+ * The view layer of the plugin's dialogs: the thread that owns them, and how
+ * the scheduled dialogs, the spinner and the progress bar are put on screen
+ * and taken off it.
+ *
+ * AndroidDialogPresenter shows the dialog each factory builds. Other presenters
+ * may answer dialogs without ever building them, e.g. to run the plugin's
+ * queueing and callback logic on a plain JVM.
+ */
+interface DialogPresenter {
+
+    /**
+     * A dialog on screen.
+     */
+    interface Shown {
+        /**
+         * Takes the dialog off screen; the listener's dismissed() follows.
+         */
+        void dismiss();
+    }
+
+    /**
+     * The spinner or the progress bar dialog, built but not shown yet.
+     */
+    interface Progress extends Shown {
+        /**
+         * Puts the dialog on screen; the listener's shown() follows.
+         */
+        void show();
+
+        /**
+         * @param value     0-100, ignored by the spinner
+         */
+        void setProgress(int value);
+    }
+
+    interface Listener {
+        /** The dialog is visible. */
+        void shown();
+
+        /** The dialog is gone, whether answered, cancelled or dismissed. */
+        void dismissed();
+    }
+
+    /**
+     * Runs a task on the thread that owns the dialogs, the UI thread on Android.
+     */
+    void post(Runnable task);
+
+    /**
+     * Runs a task on the post() thread after a delay.
+     */
+    void postDelayed(Runnable task, long delayMillis);
+
+    /**
+     * Drops a task of postDelayed() or post() that has not run yet.
+     */
+    void removeCallbacks(Runnable task);
+
+    /**
+     * Shows a dialog. Called on the post() thread; the listener is called there
+     * too, but never from within this call.
+     *
+     * @param factory           The dialog
+     * @param callbackContext   The callback its answers go to
+     * @param listener          Told when the dialog is shown and gone
+     * @return                  The dialog on screen
+     * @throws RuntimeException if the dialog cannot be shown; the listener is not called then
+     */
+    Shown show(DialogFactory factory, CallbackContext callbackContext, Listener listener);
+
+    /**
+     * Builds the spinner or the progress bar dialog. Called on the post() thread;
+     * the listener is called there too. The user may cancel the dialog.
+     *
+     * @param title             Title of the dialog
+     * @param message           Message of the dialog
+     * @param bar               True for a bar from 0 to 100, false for a spinner
+     * @param listener          Told when the dialog is shown and gone
+     * @return                  The dialog, not shown yet
+     */
+    Progress createProgress(String title, String message, boolean bar, Listener listener);
+}
@@ -0,0 +1,369 @@
+/*
+       Licensed to the Apache Software Foundation (ASF) under one
+       or more contributor license agreements.  See the NOTICE file
+       distributed with this work for additional information
+       regarding copyright ownership.  The ASF licenses this file
+       to you under the Apache License, Version 2.0 (the
+       "License"); you may not use this file except in compliance
+       with the License.  You may obtain a copy of the License at
+
+         http://www.apache.org/licenses/LICENSE-2.0
+
+       Unless required by applicable law or agreed to in writing,
+       software distributed under the License is distributed on an
+       "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+       KIND, either express or implied.  See the License for the
+       specific language governing permissions and limitations
+       under the License.
+*/
+package org.apache.cordova.dialogs;
+
+import org.apache.cordova.CallbackContext;
+import org.apache.cordova.CordovaWebView;
+import org.apache.cordova.LOG;
+import org.apache.cordova.PluginResult;
+
+import org.json.JSONObject;
+
+import android.os.Build;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Decides when the alert, confirm, prompt, listOptions and checklist dialogs are shown.
+ *
+ * At most maxVisible dialogs are on screen at once. Others wait in a priority queue
+ * (higher priority first, then call order) of at most maxPending entries; what happens
+ * to a dialog that does not fit is set by the overflow policy. A dialog that is
+ * identical to one already waiting, with the same priority and timeout, is collapsed
+ * into it, and the single dialog that is eventually shown resolves every caller.
+ *
+ * A dialog with a timeout option is resolved and dismissed when it has been on
+ * screen that long. All timeouts share a single timer thread, which only posts
+ * the expiry back to the UI thread.
+ *
+ * clear() tears everything down when the page or the Activity goes away: dialogs
+ * on screen are dismissed, waiting ones dropped, and every caller that has not been
+ * answered yet receives the dialog's cancel result.
+ *
+ * submit() may be called from any thread, and computes the de-duplication key there;
+ * all other state is owned by the UI thread, the presenter's post() thread.
+ */
+class DialogScheduler {
+
+    private static final String LOG_TAG = "Notification";
+
+    /** Reject the dialog that does not fit. */
+    static final int OVERFLOW_REJECT = 0;
+    /** Drop the dialog that has been waiting longest. */
+    static final int OVERFLOW_DROP_OLDEST = 1;
+    /** Drop whichever dialog would be shown last, possibly the new one. */
+    static final int OVERFLOW_DROP_LOWEST = 2;
+
+    private static class Request {
+        final DialogFactory factory;
+        final DialogCallback callback;
+        final TracedCallback trace;
+        final int priority;
+        final boolean dedupe;
+        final long sequence;
+        final long timeout;
+        long started;
+        ScheduledFuture<?> expiry;
+        String key;
+        DialogPresenter.Shown shown;
+
+        Request(DialogFactory factory, DialogCallback callback, TracedCallback trace, int priority, boolean dedupe,
+                long sequence, long timeout) {
+            this.factory = factory;
+            this.callback = callback;
+            this.trace = trace;
+            this.priority = priority;
+            this.dedupe = dedupe;
+            this.sequence = sequence;
+            this.timeout = timeout;
+        }
+
+        String key() {
+            if (this.key == null) {
+                // Callers merged into one dialog share its place in the queue and its timeout.
+                this.key = this.factory.key() + '\u0000' + this.priority + '\u0000' + this.timeout;
+            }
+            return this.key;
+        }
+    }
+
+    private static final Comparator<Request> ORDER = new Comparator<Request>() {
+        public int compare(Request a, Request b) {
+            if (a.priority != b.priority) {
+                return a.priority > b.priority ? -1 : 1;
+            }
+            return a.sequence < b.sequence ? -1 : (a.sequence == b.sequence ? 0 : 1);
+        }
+    };
+
+    private final DialogPresenter presenter;
+    private final CordovaWebView webView;
+    private final NotificationMetrics metrics;
+    private final int maxVisible;
+    private final int maxPending;
+    private final int overflow;
+    private final AtomicLong sequence = new AtomicLong();
+    private final ScheduledThreadPoolExecutor timer = new ScheduledThreadPoolExecutor(1);
+
+    // Only touched on the UI thread.
+    private int visible;
+    private final Set<String> shownActions = new HashSet<String>();
+    private final PriorityQueue<Request> pending = new PriorityQueue<Request>(11, ORDER);
+    private final Map<String, Request> pendingByKey = new HashMap<String, Request>();
+    private final Set<Request> live = new HashSet<Request>();
+    // Requests numbered below this were submitted before the last clear().
+    private long barrier;
+
+    DialogScheduler(DialogPresenter presenter, CordovaWebView webView, NotificationMetrics metrics,
+            int maxVisible, int maxPending, int overflow) {
+        this.presenter = presenter;
+        this.webView = webView;
+        this.metrics = metrics;
+        this.maxVisible = Math.max(1, maxVisible);
+        this.maxPending = Math.max(0, maxPending);
+        this.overflow = overflow;
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.LOLLIPOP) {
+            // Dialogs answered before their timeout should not keep a queued task around.
+            this.timer.setRemoveOnCancelPolicy(true);
+        }
+    }
+
+    /**
+     * @param policy    "reject", "dropOldest" or "dropLowest"
+     * @return          The matching OVERFLOW_ constant, OVERFLOW_REJECT if unknown
+     */
+    static int parseOverflow(String policy) {
+        if ("dropOldest".equals(policy)) {
+            return OVERFLOW_DROP_OLDEST;
+        }
+        if ("dropLowest".equals(policy)) {
+            return OVERFLOW_DROP_LOWEST;
+        }
+        return OVERFLOW_REJECT;
+    }
+
+    /**
+     * Queues a dialog.
+     *
+     * @param factory           Builds the dialog once it is its turn
+     * @param options           priority (default 0), dedupe (default true) and timeout
+     *                          (milliseconds on screen, default none), may be null
+     * @param callbackContext   The caller's callback context
+     */
+    void submit(DialogFactory factory, JSONObject options, CallbackContext callbackContext) {
+        int priority = options == null ? 0 : options.optInt("priority", 0);
+        boolean dedupe = options == null || options.optBoolean("dedupe", true);
+        long timeout = options == null ? 0 : options.optLong("timeout", 0);
+        TracedCallback trace = callbackContext instanceof TracedCallback ? (TracedCallback) callbackContext : null;
+        final Request request = new Request(factory, new DialogCallback(callbackContext, this.webView), trace,
+                priority, dedupe, this.sequence.getAndIncrement(), timeout);
+        if (dedupe) {
+            // Keys of large lists are long; build them before reaching the UI thread.
+            request.key();
+        }
+        this.presenter.post(new Runnable() {
+            public void run() {
+                enqueue(request);
+            }
+        });
+    }
+
+    private void enqueue(Request request) {
+        if (request.trace != null) {
+            request.trace.posted();
+        }
+        if (request.sequence < this.barrier) {
+            cancel(request);
+            request.factory.discarded();
+            return;
+        }
+        if (this.visible < this.maxVisible && this.pending.isEmpty()) {
+            show(request);
+            return;
+        }
+        if (request.dedupe) {
+            Request same = this.pendingByKey.get(request.key());
+            if (same != null) {
+                same.callback.add(request.callback);
+                return;
+            }
+        }
+        if (this.pending.size() >= this.maxPending && !makeRoom(request)) {
+            reject(request);
+            return;
+        }
+        this.pending.add(request);
+        if (request.dedupe) {
+            this.pendingByKey.put(request.key(), request);
+        }
+    }
+
+    /**
+     * Applies the overflow policy to a full queue.
+     *
+     * @return          True if an entry was dropped to make room for request
+     */
+    private boolean makeRoom(Request request) {
+        if (this.pending.isEmpty() || this.overflow == OVERFLOW_REJECT) {
+            return false;
+        }
+        Request victim = null;
+        for (Request waiting : this.pending) {
+            if (victim == null) {
+                victim = waiting;
+            } else if (this.overflow == OVERFLOW_DROP_OLDEST) {
+                if (waiting.sequence < victim.sequence) {
+                    victim = waiting;
+                }
+            } else if (ORDER.compare(waiting, victim) > 0) {
+                victim = waiting;
+            }
+        }
+        if (this.overflow == OVERFLOW_DROP_LOWEST && ORDER.compare(request, victim) > 0) {
+            return false;
+        }
+        remove(victim);
+        reject(victim);
+        return true;
+    }
+
+    private void remove(Request request) {
+        this.pending.remove(request);
+        if (request.dedupe && this.pendingByKey.get(request.key()) == request) {
+            this.pendingByKey.remove(request.key());
+        }
+    }
+
+    private void reject(Request request) {
+        LOG.w(LOG_TAG, "Dialog queue is full, dropping a dialog");
+        request.callback.sendPluginResult(new PluginResult(PluginResult.Status.ERROR, "Dialog queue is full"));
+        request.factory.discarded();
+    }
+
+    /**
+     * Dismisses every dialog and answers every caller still waiting for one.
+     * Call on the UI thread.
+     */
+    void clear() {
+        this.barrier = this.sequence.get();
+        List<Request> waiting = new ArrayList<Request>(this.pending);
+        this.pending.clear();
+        this.pendingByKey.clear();
+        for (Request request : waiting) {
+            cancel(request);
+            request.factory.discarded();
+        }
+        for (Request request : new ArrayList<Request>(this.live)) {
+            cancel(request);
+            // dismiss() does not fire the OnCancelListener, so the cancel result is sent once.
+            request.shown.dismiss();
+        }
+    }
+
+    private void cancel(Request request) {
+        if (!request.callback.isAnswered()) {
+            request.factory.cancel(request.callback);
+        }
+    }
+
+    private void show(final Request request) {
+        this.visible++;
+        request.started = System.nanoTime();
+        try {
+            request.shown = this.presenter.show(request.factory, request.callback, new DialogPresenter.Listener() {
+                public void shown() {
+                    DialogScheduler.this.shown(request);
+                }
+
+                public void dismissed() {
+                    visible--;
+                    if (request.expiry != null) {
+                        request.expiry.cancel(false);
+                    }
+                    live.remove(request);
+                    request.shown = null;
+                    showNext();
+                }
+            });
+            this.live.add(request);
+        } catch (RuntimeException e) {
+            // e.g. BadTokenException when the activity went away meanwhile
+            LOG.e(LOG_TAG, "Unable to show dialog", e);
+            this.visible--;
+            request.shown = null;
+            request.callback.sendPluginResult(new PluginResult(PluginResult.Status.ERROR, "Unable to show dialog"));
+            showNext();
+        }
+    }
+
+    /**
+     * Logs how long a dialog took from being built to being on screen. The first
+     * dialog of each action is cold: it pays for class loading, theme and layout inflation.
+     */
+    private void shown(final Request request) {
+        long nanos = System.nanoTime() - request.started;
+        boolean cold = this.shownActions.add(request.factory.action);
+        LOG.d(LOG_TAG, request.factory.action + " shown after " + (nanos / 1000) + " us (" + (cold ? "cold" : "warm") + ")");
+        if (cold) {
+            this.metrics.recordColdShow(request.factory.action, nanos);
+        }
+        if (request.trace != null) {
+            request.trace.shown();
+        }
+        if (request.timeout > 0) {
+            request.expiry = this.timer.schedule(new Runnable() {
+                public void run() {
+                    presenter.post(new Runnable() {
+                        public void run() {
+                            expire(request);
+                        }
+                    });
+                }
+            }, request.timeout, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void expire(Request request) {
+        if (!this.live.contains(request)) {
+            return;
+        }
+        if (!request.callback.isAnswered()) {
+            request.factory.timeout(request.callback);
+        }
+        request.shown.dismiss();
+    }
+
+    /**
+     * Stops the timer thread. Call once, when the plugin is destroyed.
+     */
+    void shutdown() {
+        this.timer.shutdownNow();
+    }
+
+    private void showNext() {
+        while (this.visible < this.maxVisible && !this.pending.isEmpty()) {
+            Request next = this.pending.poll();
+            if (next.dedupe && this.pendingByKey.get(next.key()) == next) {
+                this.pendingByKey.remove(next.key());
+            }
+            show(next);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+/*
+       Licensed to the Apache Software Foundation (ASF) under one
+       or more contributor license agreements.  See the NOTICE file
+       distributed with this work for additional information
+       regarding copyright ownership.  The ASF licenses this file
+       to you under the Apache License, Version 2.0 (the
+       "License"); you may not use this file except in compliance
+       with the License.  You may obtain a copy of the License at
+
+         http://www.apache.org/licenses/LICENSE-2.0
+
+       Unless required by applicable law or agreed to in writing,
+       software distributed under the License is distributed on an
+       "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+       KIND, either express or implied.  See the License for the
+       specific language governing permissions and limitations
+       under the License.
+*/
+package org.apache.cordova.dialogs;
+
+import android.view.Choreographer;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Runs a callback on the UI thread at most once per display frame.
+ *
+ * Writers keep their latest value somewhere atomic and call request(); any number
+ * of requests made before the next frame collapse into a single callback, which
+ * then applies whatever value is current. request() never blocks.
+ */
+class FrameCoalescer implements Choreographer.FrameCallback {
+
+    /**
+     * Work done once per frame on the UI thread.
+     */
+    interface Frame {
+        void onFrame();
+    }
+
+    private final DialogPresenter presenter;
+    private final Frame frame;
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+
+    private final Runnable post = new Runnable() {
+        public void run() {
+            // Choreographer is per looper, so it has to be looked up on the UI thread.
+            Choreographer.getInstance().postFrameCallback(FrameCoalescer.this);
+        }
+    };
+
+    FrameCoalescer(DialogPresenter presenter, Frame frame) {
+        this.presenter = presenter;
+        this.frame = frame;
+    }
+
+    /**
+     * Asks for a callback on the next frame.
+     *
+     * @return          False if a callback was already pending, i.e. the request was merged
+     */
+    boolean request() {
+        if (!this.scheduled.compareAndSet(false, true)) {
+            return false;
+        }
+        this.presenter.post(this.post);
+        return true;
+    }
+
+    public void doFrame(long frameTimeNanos) {
+        // Cleared first so that a value written during onFrame schedules another frame.
+        this.scheduled.set(false);
+        this.frame.onFrame();
+    }
+}
@@ -0,0 +1,223 @@
+/*
+       Licensed to the Apache Software Foundation (ASF) under one
+       or more contributor license agreements.  See the NOTICE file
+       distributed with this work for additional information
+       regarding copyright ownership.  The ASF licenses this file
+       to you under the Apache License, Version 2.0 (the
+       "License"); you may not use this file except in compliance
+       with the License.  You may obtain a copy of the License at
+
+         http://www.apache.org/licenses/LICENSE-2.0
+
+       Unless required by applicable law or agreed to in writing,
+       software distributed under the License is distributed on an
+       "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+       KIND, either express or implied.  See the License for the
+       specific language governing permissions and limitations
+       under the License.
+*/
+package org.apache.cordova.dialogs;
+
+import android.text.PrecomputedText;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A dialog message too large to be laid out in one TextView.
+ *
+ * The text is cut into chunks when the dialog is prepared. The dialog shows the
+ * chunks as rows of a list, so only the rows on screen are ever laid out. Every
+ * row starts on a new line, so chunks end at line breaks: about CHUNK characters
+ * of short lines go in one row, and a longer paragraph gets a row of its own.
+ * Only a paragraph longer than MAX_CHUNK is cut inside, at a space. On Android 9 and later the
+ * rows just below the visible ones are measured ahead of time on a background
+ * thread with PrecomputedText; rows far from the visible ones are dropped again
+ * so memory stays bounded however long the text is.
+ */
+final class LargeMessage {
+
+    static final int CHUNK = 2048;
+    /** Longest row; as much as the default NotificationLargeMessageThreshold lets one TextView show. */
+    static final int MAX_CHUNK = 16384;
+
+    /** Rows measured ahead of the last row bound. */
+    private static final int LOOKAHEAD = 8;
+    /** Measured rows further than this from the last row bound are dropped. */
+    private static final int KEEP = 32;
+
+    private final String text;
+    private final int[] starts;
+    private final AtomicReferenceArray<CharSequence> measured;
+    private final AtomicBoolean measuring = new AtomicBoolean();
+    private volatile int position;
+    private volatile boolean closed;
+    private volatile PrecomputedText.Params params;
+
+    private LargeMessage(String text, int[] starts) {
+        this.text = text;
+        this.starts = starts;
+        this.measured = new AtomicReferenceArray<CharSequence>(starts.length - 1);
+    }
+
+    /**
+     * Cuts a message into chunks. Runs while the dialog is prepared, off the UI thread.
+     */
+    static LargeMessage split(String text) {
+        int n = text.length();
+        int[] starts = new int[n / CHUNK + 2];
+        int count = 0;
+        int start = 0;
+        while (start < n) {
+            starts[count++] = start;
+            start = chunkEnd(text, start);
+            if (count == starts.length - 1) {
+                int[] grown = new int[starts.length * 2];
+                System.arraycopy(starts, 0, grown, 0, count);
+                starts = grown;
+            }
+        }
+        starts[count++] = n;
+        int[] exact = new int[count];
+        System.arraycopy(starts, 0, exact, 0, count);
+        return new LargeMessage(text, exact);
+    }
+
+    /**
+     * Ends a chunk after the last line break within CHUNK characters, else after
+     * the first line break within MAX_CHUNK. A paragraph longer than that ends
+     * after the last space in the second half of MAX_CHUNK, else at MAX_CHUNK
+     * characters without splitting a surrogate pair.
+     */
+    private static int chunkEnd(String text, int start) {
+        int n = text.length();
+        int limit = start + CHUNK;
+        if (limit >= n) {
+            return n;
+        }
+        int cut = lastIndexOf(text, '\n', start, limit);
+        if (cut < 0) {
+            cut = indexOf(text, '\n', limit, Math.min(n, start + MAX_CHUNK));
+        }
+        if (cut >= 0) {
+            return cut + 1;
+        }
+        limit = start + MAX_CHUNK;
+        if (limit >= n) {
+            return n;
+        }
+        cut = lastIndexOf(text, ' ', start + MAX_CHUNK / 2, limit);
+        if (cut >= 0) {
+            return cut + 1;
+        }
+        return Character.isHighSurrogate(text.charAt(limit - 1)) ? limit - 1 : limit;
+    }
+
+    /**
+     * Like String.indexOf, but never looks at or past to.
+     *
+     * @return          The first index of c in [from, to), or -1
+     */
+    private static int indexOf(String text, char c, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (text.charAt(i) == c) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Like String.lastIndexOf, but never looks before from: a text without line
+     * breaks would otherwise be scanned back to its start for every chunk.
+     *
+     * @return          The last index of c in [from, to), or -1
+     */
+    private static int lastIndexOf(String text, char c, int from, int to) {
+        for (int i = to - 1; i >= from; i--) {
+            if (text.charAt(i) == c) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    int length() {
+        return this.text.length();
+    }
+
+    int size() {
+        return this.starts.length - 1;
+    }
+
+    /**
+     * @return          The text of a chunk, without a trailing line break
+     */
+    String chunk(int index) {
+        int end = this.starts[index + 1];
+        if (end > this.starts[index] && this.text.charAt(end - 1) == '\n') {
+            end--;
+        }
+        return this.text.substring(this.starts[index], end);
+    }
+
+    /**
+     * @return          The chunk measured for the given params, or null if it is not ready
+     */
+    CharSequence measured(int index) {
+        return this.measured.get(index);
+    }
+
+    /**
+     * Records that a row was bound and measures the rows after it in the background.
+     * Call on the UI thread, Android 9 and later only.
+     *
+     * @param index         The row just bound
+     * @param params        The text metrics of the rows
+     * @param executor      Where to measure
+     */
+    void bound(int index, PrecomputedText.Params params, Executor executor) {
+        this.position = index;
+        this.params = params;
+        if (!this.closed && this.measuring.compareAndSet(false, true)) {
+            executor.execute(new Runnable() {
+                public void run() {
+                    measure();
+                }
+            });
+        }
+    }
+
+    private void measure() {
+        int from;
+        do {
+            from = this.position;
+            PrecomputedText.Params current = this.params;
+            int size = size();
+            for (int i = 0; i < size; i++) {
+                if ((i < from - KEEP || i > from + KEEP) && this.measured.get(i) != null) {
+                    this.measured.set(i, null);
+                }
+            }
+            int to = Math.min(size, from + LOOKAHEAD);
+            for (int i = from; i < to && !this.closed && this.position == from; i++) {
+                if (this.measured.get(i) == null) {
+                    this.measured.set(i, PrecomputedText.create(chunk(i), current));
+                }
+            }
+            this.measuring.set(false);
+            // Loop if a row was bound meanwhile and nobody else picked it up.
+        } while (!this.closed && this.position != from && this.measuring.compareAndSet(false, true));
+    }
+
+    /**
+     * Stops measuring and drops what was measured. Call once the dialog is gone.
+     */
+    void close() {
+        this.closed = true;
+        for (int i = 0; i < size(); i++) {
+            this.measured.set(i, null);
+        }
+    }
+}
@@ -0,0 +1,104 @@
+/*
+       Licensed to the Apache Software Foundation (ASF) under one
+       or more contributor license agreements.  See the NOTICE file
+       distributed with this work for additional information
+       regarding copyright ownership.  The ASF licenses this file
+       to you under the Apache License, Version 2.0 (the
+       "License"); you may not use this file except in compliance
+       with the License.  You may obtain a copy of the License at
+
+         http://www.apache.org/licenses/LICENSE-2.0
+
+       Unless required by applicable law or agreed to in writing,
+       software distributed under the License is distributed on an
+       "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+       KIND, either express or implied.  See the License for the
+       specific language governing permissions and limitations
+       under the License.
+*/
+package org.apache.cordova.dialogs;
+
+import android.content.Context;
+import android.os.Build;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.BaseAdapter;
+import android.widget.TextView;
+
+import java.util.concurrent.Executor;
+
+/**
+ * Shows the chunks of a LargeMessage as the rows of a list, so scrolling lays
+ * out one chunk at a time instead of the whole message up front.
+ */
+class LargeMessageAdapter extends BaseAdapter {
+
+    private final Context context;
+    private final LargeMessage message;
+    private final Executor executor;
+    private final int padding;
+
+    /**
+     * @param context       Context used to create the rows
+     * @param message       The message
+     * @param executor      Where rows are measured ahead of time
+     */
+    LargeMessageAdapter(Context context, LargeMessage message, Executor executor) {
+        this.context = context;
+        this.message = message;
+        this.executor = executor;
+        this.padding = (int) (context.getResources().getDisplayMetrics().density * 20);
+    }
+
+    public int getCount() {
+        return this.message.size();
+    }
+
+    public Object getItem(int position) {
+        return this.message.chunk(position);
+    }
+
+    public long getItemId(int position) {
+        return position;
+    }
+
+    @Override
+    public boolean hasStableIds() {
+        return true;
+    }
+
+    @Override
+    public boolean areAllItemsEnabled() {
+        return false;
+    }
+
+    @Override
+    public boolean isEnabled(int position) {
+        // Text, not choices: no selector and no click.
+        return false;
+    }
+
+    public View getView(int position, View convertView, ViewGroup parent) {
+        TextView row = (TextView) convertView;
+        if (row == null) {
+            row = new TextView(this.context);
+            row.setTextAppearance(this.context, android.R.style.TextAppearance_Medium);
+            row.setPadding(this.padding, 0, this.padding, 0);
+        }
+        CharSequence measured = this.message.measured(position);
+        if (measured != null) {
+            try {
+                row.setText(measured);
+            } catch (IllegalArgumentException e) {
+                // Measured for other text metrics than this row's.
+                row.setText(this.message.chunk(position));
+            }
+        } else {
+            row.setText(this.message.chunk(position));
+        }
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.P) {
+            this.message.bound(position, row.getTextMetricsParams(), this.executor);
+        }
+        return row;
+    }
+}
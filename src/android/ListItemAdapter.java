@@ -0,0 +1,128 @@
+/*
+       Licensed to the Apache Software Foundation (ASF) under one
+       or more contributor license agreements.  See the NOTICE file
+       distributed with this work for additional information
+       regarding copyright ownership.  The ASF licenses this file
+       to you under the Apache License, Version 2.0 (the
+       "License"); you may not use this file except in compliance
+       with the License.  You may obtain a copy of the License at
+
+         http://www.apache.org/licenses/LICENSE-2.0
+
+       Unless required by applicable law or agreed to in writing,
+       software distributed under the License is distributed on an
+       "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+       KIND, either express or implied.  See the License for the
+       specific language governing permissions and limitations
+       under the License.
+*/
+package org.apache.cordova.dialogs;
+
+import android.content.Context;
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.BaseAdapter;
+import android.widget.CheckedTextView;
+import android.widget.TextView;
+
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Windowed adapter used by the listOptions and checklist dialogs.
+ *
+ * Rows are only inflated and bound for the part of the list that is on screen;
+ * the ListView hands scrapped rows back through convertView so they are rebound
+ * instead of rebuilt. The checked state of a checklist lives in a single BitSet
+ * rather than in one object per row.
+ *
+ * A searchable list shows a subset of the items; positions are then mapped to
+ * item indices through the array of visible items, and item ids stay the index
+ * of the item in the full list.
+ */
+class ListItemAdapter extends BaseAdapter {
+
+    private final LayoutInflater inflater;
+    private final int rowLayout;
+    private final List<String> items;
+    private final BitSet checked;
+    private int[] visible;
+
+    /**
+     * @param context       Context used to inflate the rows
+     * @param items         The items to display
+     * @param checked       Checked state for a checklist, or null for a single choice list
+     */
+    ListItemAdapter(Context context, List<String> items, BitSet checked) {
+        this.inflater = LayoutInflater.from(context);
+        this.items = items;
+        this.checked = checked;
+        this.rowLayout = checked == null
+                ? android.R.layout.select_dialog_item
+                : android.R.layout.select_dialog_multichoice;
+    }
+
+    /**
+     * Shows only some of the items.
+     *
+     * @param visible       Indices of the items to show in order, or null for all of them
+     */
+    void setVisible(int[] visible) {
+        this.visible = visible;
+        notifyDataSetChanged();
+    }
+
+    /**
+     * @return              The index in the full list of the item at a position
+     */
+    int itemAt(int position) {
+        return this.visible == null ? position : this.visible[position];
+    }
+
+    public int getCount() {
+        return this.visible == null ? this.items.size() : this.visible.length;
+    }
+
+    public Object getItem(int position) {
+        return this.items.get(itemAt(position));
+    }
+
+    public long getItemId(int position) {
+        return itemAt(position);
+    }
+
+    @Override
+    public boolean hasStableIds() {
+        return true;
+    }
+
+    public View getView(int position, View convertView, ViewGroup parent) {
+        TextView row = (TextView) convertView;
+        if (row == null) {
+            row = (TextView) this.inflater.inflate(this.rowLayout, parent, false);
+        }
+        int item = itemAt(position);
+        row.setText(this.items.get(item));
+        if (this.checked != null) {
+            ((CheckedTextView) row).setChecked(this.checked.get(item));
+        }
+        return row;
+    }
+
+    /**
+     * Flips the checked state of a row and rebinds it if it is on screen.
+     *
+     * @param position      Position of the row
+     * @param row           The row view that was clicked, may be null
+     * @return              The item shown in the row
+     */
+    int toggle(int position, View row) {
+        int item = itemAt(position);
+        this.checked.flip(item);
+        if (row instanceof CheckedTextView) {
+            ((CheckedTextView) row).setChecked(this.checked.get(item));
+        }
+        return item;
+    }
+}
@@ -0,0 +1,301 @@
+/*
+       Licensed to the Apache Software Foundation (ASF) under one
+       or more contributor license agreements.  See the NOTICE file
+       distributed with this work for additional information
+       regarding copyright ownership.  The ASF licenses this file
+       to you under the Apache License, Version 2.0 (the
+       "License"); you may not use this file except in compliance
+       with the License.  You may obtain a copy of the License at
+
+         http://www.apache.org/licenses/LICENSE-2.0
+
+       Unless required by applicable law or agreed to in writing,
+       software distributed under the License is distributed on an
+       "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+       KIND, either express or implied.  See the License for the
+       specific language governing permissions and limitations
+       under the License.
+*/
+package org.apache.cordova.dialogs;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.util.AbstractList;
+import java.util.BitSet;
+import java.util.RandomAccess;
+
+/**
+ * Read-only view over the items of a list argument.
+ *
+ * A JSONArray received by execute is wrapped as-is. A string argument is
+ * tokenized in a single pass that only records the start and end offset of
+ * every item; the item strings themselves are cut out of the source (and JSON
+ * escapes decoded) when a row asks for them, so parsing allocates nothing per
+ * item. Strings that are not a JSON array are split on commas, as the plugin
+ * always did: quotes around an item are dropped and so are empty items at the
+ * end. A comma before the closing bracket of an array is ignored likewise.
+ */
+final class ListItems extends AbstractList<String> implements RandomAccess {
+
+    private final JSONArray array;
+    private final String source;
+    private int[] bounds;
+    private BitSet escaped;
+    private int size;
+    private String arrayKey;
+    private long estimatedBytes = -1;
+
+    private ListItems(JSONArray array) {
+        this.array = array;
+        this.source = null;
+        this.size = array.length();
+    }
+
+    private ListItems(String source, int capacity) {
+        this.array = null;
+        this.source = source;
+        this.bounds = new int[capacity * 2];
+    }
+
+    /**
+     * Wraps a list argument as passed to execute.
+     *
+     * @param value     A JSONArray, a JSON array string or a comma separated string
+     * @return          The items of the list
+     */
+    static ListItems from(Object value) throws JSONException {
+        if (value instanceof JSONArray) {
+            return new ListItems((JSONArray) value);
+        }
+        if (value == null || value == JSONObject.NULL) {
+            return parse("");
+        }
+        return parse(value.toString());
+    }
+
+    /**
+     * Tokenizes a list argument in a single pass.
+     *
+     * @param source    A JSON array string or a comma separated string
+     * @return          The items of the list
+     */
+    static ListItems parse(String source) throws JSONException {
+        ListItems items = new ListItems(source, 16);
+        int n = source.length();
+        int i = skipWhitespace(source, 0);
+        if (i < n && source.charAt(i) == '[') {
+            items.parseArray(i + 1);
+        } else if (n > 0) {
+            items.parseCommaSeparated();
+        }
+        return items;
+    }
+
+    private void parseArray(int i) throws JSONException {
+        String s = this.source;
+        int n = s.length();
+        i = skipWhitespace(s, i);
+        if (i < n && s.charAt(i) == ']') {
+            return;
+        }
+        while (true) {
+            i = skipWhitespace(s, i);
+            if (i >= n) {
+                throw new JSONException("Unterminated array at character " + i);
+            }
+            if (s.charAt(i) == '"') {
+                int start = i + 1;
+                boolean hasEscape = false;
+                int j = start;
+                while (j < n) {
+                    char c = s.charAt(j);
+                    if (c == '"') {
+                        break;
+                    }
+                    if (c == '\\') {
+                        hasEscape = true;
+                        j += 2;
+                    } else {
+                        j++;
+                    }
+                }
+                if (j >= n) {
+                    throw new JSONException("Unterminated string at character " + start);
+                }
+                add(start, j, hasEscape);
+                i = j + 1;
+            } else {
+                // Bare numbers, booleans and null are kept as their literal text.
+                int start = i;
+                while (i < n && s.charAt(i) != ',' && s.charAt(i) != ']') {
+                    i++;
+                }
+                int end = i;
+                while (end > start && Character.isWhitespace(s.charAt(end - 1))) {
+                    end--;
+                }
+                add(start, end, false);
+            }
+            i = skipWhitespace(s, i);
+            if (i < n && s.charAt(i) == ',') {
+                i = skipWhitespace(s, i + 1);
+                if (i < n && s.charAt(i) == ']') {
+                    // ["a",] has one item, as it had when lists were split on commas.
+                    return;
+                }
+            } else if (i < n && s.charAt(i) == ']') {
+                return;
+            } else {
+                throw new JSONException("Expected ',' or ']' at character " + i);
+            }
+        }
+    }
+
+    private void parseCommaSeparated() {
+        String s = this.source;
+        int start = 0;
+        int comma;
+        while ((comma = s.indexOf(',', start)) >= 0) {
+            addUnquoted(start, comma);
+            start = comma + 1;
+        }
+        addUnquoted(start, s.length());
+        // String.split, which these lists used to be cut with, drops trailing empty items.
+        while (this.size > 0 && this.bounds[this.size * 2 - 2] == this.bounds[this.size * 2 - 1]) {
+            this.size--;
+        }
+    }
+
+    /**
+     * Adds an item of a comma separated list, without the quotes around it if
+     * it has any: "a","b" has the items a and b.
+     */
+    private void addUnquoted(int start, int end) {
+        String s = this.source;
+        int first = skipWhitespace(s, start);
+        int last = end;
+        while (last > first && Character.isWhitespace(s.charAt(last - 1))) {
+            last--;
+        }
+        if (last - first >= 2 && s.charAt(first) == '"' && s.charAt(last - 1) == '"') {
+            add(first + 1, last - 1, false);
+        } else {
+            add(start, end, false);
+        }
+    }
+
+    private void add(int start, int end, boolean hasEscape) {
+        if (this.size * 2 == this.bounds.length) {
+            int[] grown = new int[this.bounds.length * 2];
+            System.arraycopy(this.bounds, 0, grown, 0, this.bounds.length);
+            this.bounds = grown;
+        }
+        this.bounds[this.size * 2] = start;
+        this.bounds[this.size * 2 + 1] = end;
+        if (hasEscape) {
+            if (this.escaped == null) {
+                this.escaped = new BitSet();
+            }
+            this.escaped.set(this.size);
+        }
+        this.size++;
+    }
+
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    @Override
+    public String get(int index) {
+        if (index < 0 || index >= this.size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + this.size);
+        }
+        if (this.array != null) {
+            return this.array.optString(index);
+        }
+        int start = this.bounds[index * 2];
+        int end = this.bounds[index * 2 + 1];
+        if (this.escaped != null && this.escaped.get(index)) {
+            return unescape(this.source, start, end);
+        }
+        return this.source.substring(start, end);
+    }
+
+    /**
+     * @return          Text that is equal for lists with the same items, without materializing them
+     */
+    String contentKey() {
+        if (this.source != null) {
+            return this.source;
+        }
+        // Serialized once: a registered list is keyed every time it is shown.
+        if (this.arrayKey == null) {
+            this.arrayKey = this.array.toString();
+        }
+        return this.arrayKey;
+    }
+
+    /**
+     * @return          Approximate memory held by the list, for the template cache
+     */
+    long estimatedBytes() {
+        if (this.estimatedBytes < 0) {
+            long bytes = 64;
+            if (this.source != null) {
+                bytes += 2L * this.source.length() + 4L * this.bounds.length;
+            } else {
+                for (int i = 0; i < this.size; i++) {
+                    // String object and its chars, plus the array slot.
+                    bytes += 48 + 2L * this.array.optString(i).length();
+                }
+            }
+            this.estimatedBytes = bytes;
+        }
+        return this.estimatedBytes;
+    }
+
+    private static int skipWhitespace(String s, int i) {
+        int n = s.length();
+        while (i < n && Character.isWhitespace(s.charAt(i))) {
+            i++;
+        }
+        return i;
+    }
+
+    private static String unescape(String s, int start, int end) {
+        StringBuilder sb = new StringBuilder(end - start);
+        for (int i = start; i < end; i++) {
+            char c = s.charAt(i);
+            if (c != '\\' || i + 1 >= end) {
+                sb.append(c);
+                continue;
+            }
+            c = s.charAt(++i);
+            switch (c) {
+                case 'b': sb.append('\b'); break;
+                case 'f': sb.append('\f'); break;
+                case 'n': sb.append('\n'); break;
+                case 'r': sb.append('\r'); break;
+                case 't': sb.append('\t'); break;
+                case 'u':
+                    if (i + 4 < end) {
+                        try {
+                            sb.append((char) Integer.parseInt(s.substring(i + 1, i + 5), 16));
+                            i += 4;
+                            break;
+                        } catch (NumberFormatException e) { }
+                    }
+                    sb.append(c);
+                    break;
+                default:
+                    // \" \\ \/ and anything unknown stand for the character itself
+                    sb.append(c);
+                    break;
+            }
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,103 @@
+/*
+       Licensed to the Apache Software Foundation (ASF) under one
+       or more contributor license agreements.  See the NOTICE file
+       distributed with this work for additional information
+       regarding copyright ownership.  The ASF licenses this file
+       to you under the Apache License, Version 2.0 (the
+       "License"); you may not use this file except in compliance
+       with the License.  You may obtain a copy of the License at
+
+         http://www.apache.org/licenses/LICENSE-2.0
+
+       Unless required by applicable law or agreed to in writing,
+       software distributed under the License is distributed on an
+       "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+       KIND, either express or implied.  See the License for the
+       specific language governing permissions and limitations
+       under the License.
+*/
+package org.apache.cordova.dialogs;
+
+import org.apache.cordova.LOG;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Filters a list dialog as the user types.
+ *
+ * The search index is built on the executor as soon as the dialog is created and
+ * every query runs there too; the UI thread only receives the final positions. A
+ * query that is overtaken by a newer keystroke is dropped at the next checkpoint
+ * instead of being finished and shown.
+ */
+final class ListSearch {
+
+    private static final String LOG_TAG = "Notification";
+
+    private final DialogPresenter presenter;
+    private final ExecutorService executor;
+    private final ListItemAdapter adapter;
+    private final NotificationMetrics metrics;
+    private final String action;
+    private final Future<ListSearchIndex> index;
+    private final AtomicInteger generation = new AtomicInteger();
+
+    ListSearch(DialogPresenter presenter, ExecutorService executor, final List<String> items, ListItemAdapter adapter,
+            NotificationMetrics metrics, String action) {
+        this.presenter = presenter;
+        this.executor = executor;
+        this.adapter = adapter;
+        this.metrics = metrics;
+        this.action = action;
+        this.index = executor.submit(new Callable<ListSearchIndex>() {
+            public ListSearchIndex call() {
+                return ListSearchIndex.build(items);
+            }
+        });
+    }
+
+    /**
+     * Filters the list by text. Call on the UI thread.
+     */
+    void query(final String text) {
+        final int current = this.generation.incrementAndGet();
+        final long typed = System.nanoTime();
+        if (text.length() == 0) {
+            this.adapter.setVisible(null);
+        }
+        this.executor.execute(new Runnable() {
+            public void run() {
+                final int[] hits;
+                try {
+                    hits = index.get().search(text);
+                } catch (Exception e) {
+                    LOG.e(LOG_TAG, "List search failed", e);
+                    return;
+                }
+                if (generation.get() != current || text.length() == 0) {
+                    return;
+                }
+                presenter.post(new Runnable() {
+                    public void run() {
+                        if (generation.get() == current) {
+                            adapter.setVisible(hits);
+                            metrics.record(action, NotificationMetrics.FILTER, System.nanoTime() - typed);
+                        }
+                    }
+                });
+            }
+        });
+    }
+
+    /**
+     * Drops results that are still on their way, and the index if it is not built yet.
+     */
+    void cancel() {
+        this.generation.incrementAndGet();
+        this.index.cancel(true);
+    }
+}
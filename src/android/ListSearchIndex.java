@@ -0,0 +1,203 @@
+/*
+       Licensed to the Apache Software Foundation (ASF) under one
+       or more contributor license agreements.  See the NOTICE file
+       distributed with this work for additional information
+       regarding copyright ownership.  The ASF licenses this file
+       to you under the Apache License, Version 2.0 (the
+       "License"); you may not use this file except in compliance
+       with the License.  You may obtain a copy of the License at
+
+         http://www.apache.org/licenses/LICENSE-2.0
+
+       Unless required by applicable law or agreed to in writing,
+       software distributed under the License is distributed on an
+       "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+       KIND, either express or implied.  See the License for the
+       specific language governing permissions and limitations
+       under the License.
+*/
+package org.apache.cordova.dialogs;
+
+import java.text.Normalizer;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Case and accent insensitive substring index over the items of a list.
+ *
+ * Every item is folded once (lower case, diacritics removed) and appended to a
+ * single string, with the start offset of each item kept in an int array. A
+ * search is then one indexOf pass over that string that jumps to the next item
+ * after each hit, instead of folding and scanning every item again. When a query
+ * extends the previous one only the previous hits are searched.
+ *
+ * Hits are returned as item indices, items that start with the query first.
+ */
+final class ListSearchIndex {
+
+    /** Ends every item in the folded text; stripped from queries so a hit never spans two items. */
+    private static final char SEPARATOR = '\u0000';
+
+    /** Folded form of each Latin-1 character, so most text never goes through the Normalizer. */
+    private static final String[] LATIN1 = new String[0x100];
+
+    static {
+        for (char c = 0x80; c < 0x100; c++) {
+            LATIN1[c] = stripMarks(Normalizer.normalize(String.valueOf(c), Normalizer.Form.NFD));
+        }
+    }
+
+    private final String text;
+    private final int[] starts;
+
+    // Last search, to narrow the next one; guarded by this.
+    private String lastQuery;
+    private int[] lastHits;
+
+    private ListSearchIndex(String text, int[] starts) {
+        this.text = text;
+        this.starts = starts;
+    }
+
+    static ListSearchIndex build(List<String> items) {
+        int size = items.size();
+        int[] starts = new int[size + 1];
+        StringBuilder text = new StringBuilder(size * 16);
+        for (int i = 0; i < size; i++) {
+            starts[i] = text.length();
+            text.append(fold(items.get(i))).append(SEPARATOR);
+        }
+        starts[size] = text.length();
+        return new ListSearchIndex(text.toString(), starts);
+    }
+
+    int size() {
+        return this.starts.length - 1;
+    }
+
+    /**
+     * @param query     What the user typed
+     * @return          Indices of the matching items, or null if the query matches everything
+     */
+    synchronized int[] search(String query) {
+        String q = fold(query).replace(String.valueOf(SEPARATOR), "");
+        if (q.length() == 0) {
+            this.lastQuery = null;
+            this.lastHits = null;
+            return null;
+        }
+        int[] hits;
+        // Checking the previous hits one by one only beats a full pass when there are few of them.
+        if (this.lastQuery != null && q.contains(this.lastQuery) && this.lastHits.length < size() / 8) {
+            hits = searchWithin(q, this.lastHits);
+        } else {
+            hits = searchAll(q);
+        }
+        this.lastQuery = q;
+        this.lastHits = hits;
+        return hits;
+    }
+
+    private int[] searchAll(String q) {
+        int[] prefix = new int[16];
+        int[] inner = new int[16];
+        int prefixCount = 0;
+        int innerCount = 0;
+        int from = 0;
+        int at;
+        while ((at = this.text.indexOf(q, from)) >= 0) {
+            int item = itemAt(at);
+            if (at == this.starts[item]) {
+                prefix = ensure(prefix, prefixCount);
+                prefix[prefixCount++] = item;
+            } else {
+                inner = ensure(inner, innerCount);
+                inner[innerCount++] = item;
+            }
+            from = this.starts[item + 1];
+        }
+        return concat(prefix, prefixCount, inner, innerCount);
+    }
+
+    private int[] searchWithin(String q, int[] candidates) {
+        int[] prefix = new int[candidates.length];
+        int[] inner = new int[candidates.length];
+        int prefixCount = 0;
+        int innerCount = 0;
+        for (int i = 0; i < candidates.length; i++) {
+            int item = candidates[i];
+            int start = this.starts[item];
+            int last = this.starts[item + 1] - 1 - q.length();
+            if (this.text.startsWith(q, start)) {
+                prefix[prefixCount++] = item;
+                continue;
+            }
+            for (int at = start + 1; at <= last; at++) {
+                if (this.text.startsWith(q, at)) {
+                    inner[innerCount++] = item;
+                    break;
+                }
+            }
+        }
+        // Prefix hits of the longer query were prefix hits before too and keep their
+        // order; inner hits may come from either group and are put back in list order.
+        Arrays.sort(inner, 0, innerCount);
+        return concat(prefix, prefixCount, inner, innerCount);
+    }
+
+    private int itemAt(int offset) {
+        int found = Arrays.binarySearch(this.starts, offset);
+        return found >= 0 ? found : -found - 2;
+    }
+
+    private static int[] ensure(int[] array, int count) {
+        return count < array.length ? array : Arrays.copyOf(array, array.length * 2);
+    }
+
+    private static int[] concat(int[] a, int aCount, int[] b, int bCount) {
+        int[] result = new int[aCount + bCount];
+        System.arraycopy(a, 0, result, 0, aCount);
+        System.arraycopy(b, 0, result, aCount, bCount);
+        return result;
+    }
+
+    /**
+     * Lower cases text and strips diacritics, so "sao" finds "São".
+     */
+    static String fold(String s) {
+        String lower = s.toLowerCase(Locale.ROOT);
+        int n = lower.length();
+        int i = 0;
+        while (i < n && lower.charAt(i) < 0x80) {
+            i++;
+        }
+        if (i == n) {
+            return lower;
+        }
+        StringBuilder sb = new StringBuilder(n);
+        sb.append(lower, 0, i);
+        for (; i < n; i++) {
+            char c = lower.charAt(i);
+            if (c < 0x80) {
+                sb.append(c);
+            } else if (c < 0x100) {
+                sb.append(LATIN1[c]);
+            } else {
+                return stripMarks(Normalizer.normalize(lower, Normalizer.Form.NFD));
+            }
+        }
+        return sb.toString();
+    }
+
+    private static String stripMarks(String s) {
+        StringBuilder sb = new StringBuilder(s.length());
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (Character.getType(c) != Character.NON_SPACING_MARK) {
+                sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+}
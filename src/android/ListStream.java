@@ -0,0 +1,120 @@
+/*
+       Licensed to the Apache Software Foundation (ASF) under one
+       or more contributor license agreements.  See the NOTICE file
+       distributed with this work for additional information
+       regarding copyright ownership.  The ASF licenses this file
+       to you under the Apache License, Version 2.0 (the
+       "License"); you may not use this file except in compliance
+       with the License.  You may obtain a copy of the License at
+
+         http://www.apache.org/licenses/LICENSE-2.0
+
+       Unless required by applicable law or agreed to in writing,
+       software distributed under the License is distributed on an
+       "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+       KIND, either express or implied.  See the License for the
+       specific language governing permissions and limitations
+       under the License.
+*/
+package org.apache.cordova.dialogs;
+
+import android.content.Context;
+import android.view.View;
+import android.widget.ListView;
+import android.widget.ProgressBar;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The items of a listOptions dialog that is opened before its whole list is known.
+ *
+ * Chunks are parsed off the UI thread and then appended here; appending copies
+ * only the chunk, and the ListView only rebinds the rows on screen, so the cost
+ * does not grow with the items already shown. Until the last chunk arrives a
+ * loading footer is shown below the items.
+ *
+ * Chunks may arrive before the dialog is on screen; they are kept and shown with
+ * it. Owned by the UI thread.
+ */
+final class ListStream {
+
+    private static final AtomicLong SERIALS = new AtomicLong();
+
+    /** Unique per stream: each feeds exactly one dialog, which must not be collapsed with another. */
+    final long serial = SERIALS.incrementAndGet();
+    private final List<String> items;
+    private boolean done;
+    private boolean closed;
+    private ListView listView;
+    private ListItemAdapter adapter;
+    private View footer;
+
+    /**
+     * @param first     The items the dialog was opened with
+     */
+    ListStream(List<String> first) {
+        this.items = new ArrayList<String>(first);
+    }
+
+    /**
+     * @return          The items so far; grows as chunks are appended
+     */
+    List<String> items() {
+        return this.items;
+    }
+
+    /**
+     * Shows the stream in a list view. Call before the adapter is set, as older
+     * ListViews do not accept footers afterwards.
+     */
+    void attach(Context context, ListView listView, ListItemAdapter adapter) {
+        this.listView = listView;
+        this.adapter = adapter;
+        if (!this.done) {
+            this.footer = new ProgressBar(context);
+            int padding = (int) (8 * context.getResources().getDisplayMetrics().density);
+            this.footer.setPadding(padding, padding, padding, padding);
+            listView.addFooterView(this.footer, null, false);
+        }
+    }
+
+    /**
+     * @param chunk     The new items
+     * @param last      No more chunks follow
+     * @return          False if the dialog is gone and the chunk was dropped
+     */
+    boolean append(List<String> chunk, boolean last) {
+        if (this.closed) {
+            return false;
+        }
+        this.items.addAll(chunk);
+        if (last) {
+            this.done = true;
+            removeFooter();
+        }
+        if (this.adapter != null) {
+            this.adapter.notifyDataSetChanged();
+        }
+        return true;
+    }
+
+    /**
+     * The dialog is gone: drops further chunks and hands the list view back
+     * without its footer, so it can be pooled.
+     */
+    void close() {
+        this.closed = true;
+        removeFooter();
+        this.listView = null;
+        this.adapter = null;
+    }
+
+    private void removeFooter() {
+        if (this.footer != null && this.listView != null) {
+            this.listView.removeFooterView(this.footer);
+        }
+        this.footer = null;
+    }
+}
@@ -0,0 +1,38 @@
+/*
+       Licensed to the Apache Software Foundation (ASF) under one
+       or more contributor license agreements.  See the NOTICE file
+       distributed with this work for additional information
+       regarding copyright ownership.  The ASF licenses this file
+       to you under the Apache License, Version 2.0 (the
+       "License"); you may not use this file except in compliance
+       with the License.  You may obtain a copy of the License at
+
+         http://www.apache.org/licenses/LICENSE-2.0
+
+       Unless required by applicable law or agreed to in writing,
+       software distributed under the License is distributed on an
+       "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+       KIND, either express or implied.  See the License for the
+       specific language governing permissions and limitations
+       under the License.
+*/
+package org.apache.cordova.dialogs;
+
+/**
+ * Receives every latency sample the Notification plugin records.
+ *
+ * Register with Notification.addMetricsListener(). Samples are delivered on the
+ * thread that recorded them (the bridge or the UI thread), so implementations
+ * must be fast and thread safe.
+ */
+public interface MetricsListener {
+
+    /**
+     * @param action    The plugin action, e.g. "confirm"
+     * @param stage     One of "dispatch", "post", "show", "response", "send", "total" or
+     *                  "filter" (a searchable list answering a keystroke); more stages may
+     *                  be added, so implementations should accept any name
+     * @param micros    Duration of the stage in microseconds
+     */
+    void onSample(String action, String stage, long micros);
+}
@@ -21,33 +21,93 @@ package org.apache.cordova.dialogs;
 import org.apache.cordova.CallbackContext;
 import org.apache.cordova.CordovaInterface;
 import org.apache.cordova.CordovaPlugin;
+import org.apache.cordova.LOG;
 import org.apache.cordova.PluginResult;
 
 import org.json.JSONArray;
 import org.json.JSONException;
 import org.json.JSONObject;
 
+import android.app.Activity;
 import android.app.AlertDialog;
-import android.app.ProgressDialog;
+import android.app.Dialog;
+import android.content.Context;
 import android.content.DialogInterface;
+import android.os.Build;
+import android.text.Editable;
+import android.text.TextWatcher;
 
-import android.media.Ringtone;
-import android.media.RingtoneManager;
-import android.net.Uri;
+import android.view.View;
+import android.widget.AdapterView;
+import android.widget.Button;
 import android.widget.EditText;
+import android.widget.LinearLayout;
+import android.widget.ListView;
 
 
-import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * This class provides access to notifications on the device.
  */
 public class Notification extends CordovaPlugin {
 
+    private static final String LOG_TAG = "Notification";
+
     public int confirmResult = -1;
-    public ProgressDialog spinnerDialog = null;
-    public ProgressDialog progressDialog = null;
+
+    private static final int NO_PROGRESS = Integer.MIN_VALUE;
+
+    private DialogPresenter presenter;
+    private BeepPlayer beepPlayer;
+    private DialogScheduler dialogs;
+    private SerialExecutor preparation;
+    // Bumped by every teardown; preparation tasks of an older page are dropped.
+    private final AtomicInteger generation = new AtomicInteger();
+    private DialogLifecycle<DialogPresenter.Progress> spinner;
+    private DialogLifecycle<DialogPresenter.Progress> progress;
+    private int largeMessageThreshold;
+    private ToastChannel toasts;
+    private TemplateCache templates;
+    // listOptions dialogs still receiving items, by stream id.
+    private final ConcurrentMap<String, ListStream> streams = new ConcurrentHashMap<String, ListStream>();
+    private final NotificationMetrics metrics = new NotificationMetrics();
+    private final Map<String, ActionHandler> actions = new ConcurrentHashMap<String, ActionHandler>();
+    private FrameCoalescer progressFrames;
+    private final AtomicInteger pendingProgress = new AtomicInteger(NO_PROGRESS);
+    private final AtomicLong progressUpdates = new AtomicLong();
+    private final AtomicLong progressDropped = new AtomicLong();
+    private final ProgressTasks progressTasks = new ProgressTasks();
+    // Only touched on the UI thread.
+    private CallbackContext progressWatcher;
+
+    // Content views reused across dialogs; only touched on the UI thread.
+    private final ViewPool<EditText> inputPool = new ViewPool<EditText>(2) {
+        protected EditText create(Context context) {
+            return new EditText(context);
+        }
+
+        protected void reset(EditText view) {
+            view.setText("");
+            view.setHint(null);
+        }
+    };
+    private final ViewPool<ListView> listPool = new ViewPool<ListView>(2) {
+        protected ListView create(Context context) {
+            return new ListView(context);
+        }
+
+        protected void reset(ListView view) {
+            view.setAdapter(null);
+            view.setOnItemClickListener(null);
+        }
+    };
 
     /**
      * Constructor.
@@ -55,6 +115,102 @@ public class Notification extends CordovaPlugin {
     public Notification() {
     }
 
+    /**
+     * Shows the scheduled dialogs through a presenter other than the Activity's
+     * window, e.g. one that answers them headless.
+     */
+    Notification(DialogPresenter presenter) {
+        this.presenter = presenter;
+    }
+
+    @Override
+    protected void pluginInitialize() {
+        NotificationActions.registerAll(this.actions);
+        if (this.presenter == null) {
+            this.presenter = new AndroidDialogPresenter(this.cordova.getActivity());
+        }
+        this.preparation = new SerialExecutor(this.cordova.getThreadPool());
+        this.spinner = new DialogLifecycle<DialogPresenter.Progress>(this.presenter);
+        this.progress = new DialogLifecycle<DialogPresenter.Progress>(this.presenter);
+        this.largeMessageThreshold = this.preferences.getInteger("NotificationLargeMessageThreshold", 16384);
+        this.toasts = new ToastChannel(this.presenter, this.cordova.getActivity(), this.preferences.getInteger("NotificationToastQueue", 16));
+        this.templates = new TemplateCache(this.preferences.getInteger("NotificationTemplateCacheBytes", 8 * 1024 * 1024));
+        this.beepPlayer = new BeepPlayer(this.cordova.getActivity());
+        this.dialogs = new DialogScheduler(this.presenter, this.webView, this.metrics,
+                this.preferences.getInteger("NotificationMaxVisibleDialogs", 1),
+                this.preferences.getInteger("NotificationMaxPendingDialogs", 32),
+                DialogScheduler.parseOverflow(this.preferences.getString("NotificationDialogOverflow", "reject")));
+        if (this.preferences.getBoolean("NotificationPrewarm", true)) {
+            this.presenter.post(new Runnable() {
+                public void run() {
+                    prewarm();
+                }
+            });
+        }
+        this.progressFrames = new FrameCoalescer(this.presenter, new FrameCoalescer.Frame() {
+            public void onFrame() {
+                applyProgress();
+            }
+        });
+    }
+
+    /**
+     * The page is navigating away: its callbacks are about to become invalid.
+     */
+    @Override
+    public void onReset() {
+        this.presenter.post(new Runnable() {
+            public void run() {
+                teardown();
+            }
+        });
+    }
+
+    @Override
+    public void onDestroy() {
+        teardown();
+        this.dialogs.shutdown();
+        this.beepPlayer.release();
+        this.inputPool.clear();
+        this.listPool.clear();
+    }
+
+    /**
+     * Dismisses every dialog this plugin put on screen or queued, so no window
+     * outlives the page or the Activity, and answers their callbacks with the
+     * cancel result. Runs on the UI thread.
+     */
+    private void teardown() {
+        this.generation.incrementAndGet();
+        this.beepPlayer.stop();
+        this.spinner.stop();
+        this.progress.stop();
+        this.progressTasks.clear();
+        this.progressWatcher = null;
+        this.toasts.clear();
+        this.templates.clear();
+        this.streams.clear();
+        this.dialogs.clear();
+    }
+
+    /**
+     * Pays the one-time cost of the first dialog up front: loads the dialog theme
+     * and layout classes and fills the view pools. Runs on the UI thread.
+     */
+    private void prewarm() {
+        Activity activity = this.cordova.getActivity();
+        if (activity.isFinishing()) {
+            return;
+        }
+        this.inputPool.prewarm(activity);
+        this.listPool.prewarm(activity);
+        AlertDialog dialog = new AlertDialog.Builder(activity).create();
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.LOLLIPOP) {
+            // Installs the content view without showing a window.
+            dialog.create();
+        }
+    }
+
     /**
      * Executes the request and returns PluginResult.
      *
@@ -64,6 +220,7 @@ public class Notification extends CordovaPlugin {
      * @return                  True when the action was valid, false otherwise.
      */
     public boolean execute(String action, JSONArray args, CallbackContext callbackContext) throws JSONException {
+        long arrived = System.nanoTime();
     	/*
     	 * Don't run any of these if the current activity is finishing
     	 * in order to avoid android.view.WindowManager$BadTokenException
@@ -71,94 +228,252 @@ public class Notification extends CordovaPlugin {
     	 * be returned in the event of an invalid action.
     	 */
     	if(this.cordova.getActivity().isFinishing()) return true;
-    	
-		
-        if (action.equals("listOptions")) {
-            this.listOptions(args.getString(0), args.getString(1), args.getString(2), callbackContext);
-            return true;
-        }
-        else if (action.equals("checklist")) {
-            this.checklist(args.getString(0), args.getString(1), args.getString(2),  args.getString(3),callbackContext);
-            return true;
-        }
-        else if (action.equals("beep")) {
-            this.beep(args.getLong(0));
-        }
-        else if (action.equals("alert")) {
-            this.alert(args.getString(0), args.getString(1), args.getString(2), callbackContext);
-            return true;
-        }
-        else if (action.equals("confirm")) {
-            this.confirm(args.getString(0), args.getString(1), args.getJSONArray(2), callbackContext);
-            return true;
-        }
-        else if (action.equals("prompt")) {
-            this.prompt(args.getString(0), args.getString(1), args.getJSONArray(2), args.getString(3), callbackContext);
-            return true;
+
+        TracedCallback traced = new TracedCallback(action, arrived, this.metrics, callbackContext, this.webView);
+        if (!this.dispatch(action, args, traced)) {
+            return false;
         }
-        else if (action.equals("activityStart")) {
-            this.activityStart(args.getString(0), args.getString(1));
+        traced.dispatched();
+        return true;
+    }
+
+    /**
+     * Runs an action through its registered handler.
+     *
+     * @param action            The action to execute.
+     * @param args              JSONArray of arguments for the plugin.
+     * @param callbackContext   The callback context used when calling back into JavaScript.
+     * @return                  True when the action was valid, false otherwise.
+     */
+    private boolean dispatch(String action, JSONArray args, CallbackContext callbackContext) throws JSONException {
+        ActionHandler handler = this.actions.get(action);
+        if (handler == null) {
+            return false;
         }
-        else if (action.equals("activityStop")) {
-            this.activityStop();
+        handler.execute(this, args, callbackContext);
+        return true;
+    }
+
+    /**
+     * Adds an action to the plugin, or replaces an existing one. Other native
+     * modules reach the plugin through
+     * webView.getPluginManager().getPlugin("Notification") and can queue their
+     * own dialogs from the handler with showDialog().
+     *
+     * @param action            The action name JavaScript passes to exec
+     * @param handler           Runs the action
+     */
+    public void registerAction(String action, ActionHandler handler) {
+        this.actions.put(action, handler);
+    }
+
+    public void unregisterAction(String action) {
+        this.actions.remove(action);
+    }
+
+    /**
+     * Queues a dialog with the plugin's own dialogs, so it honours their
+     * priority, de-duplication and overflow rules.
+     *
+     * @param factory           Builds the dialog once it is its turn
+     * @param options           priority and dedupe, may be null
+     * @param callbackContext   The callback context
+     */
+    public void showDialog(DialogFactory factory, JSONObject options, CallbackContext callbackContext) {
+        this.dialogs.submit(factory, options, callbackContext);
+    }
+
+    /**
+     * Runs a task on the preparation executor: off the UI thread, one task at a
+     * time and in submission order.
+     */
+    void prepare(final Runnable task) {
+        final int current = this.generation.get();
+        this.preparation.execute(new Runnable() {
+            public void run() {
+                if (generation.get() == current) {
+                    task.run();
+                }
+            }
+        });
+    }
+
+    /**
+     * @return                  Latency percentiles per action and stage
+     */
+    public JSONObject getMetrics() throws JSONException {
+        return this.metrics.toJSON();
+    }
+
+    /**
+     * Registers a listener that receives every latency sample as it is recorded.
+     */
+    public void addMetricsListener(MetricsListener listener) {
+        this.metrics.addListener(listener);
+    }
+
+    public void removeMetricsListener(MetricsListener listener) {
+        this.metrics.removeListener(listener);
+    }
+
+    //--------------------------------------------------------------------------
+    // LOCAL METHODS
+    //--------------------------------------------------------------------------
+
+    /**
+     * Cuts a message that is too large for a single TextView into chunks.
+     * Runs while the dialog is prepared, off the UI thread.
+     *
+     * @return                  The chunks, or null if the message is small enough to show as is
+     */
+    private LargeMessage splitMessage(String message) {
+        if (message == null || message.length() < this.largeMessageThreshold) {
+            return null;
         }
-        else if (action.equals("progressStart")) {
-            this.progressStart(args.getString(0), args.getString(1));
+        return LargeMessage.split(message);
+    }
+
+    /**
+     * Sets the message of a dialog, with an optional view below it. A large
+     * message is shown as a list of chunks that are laid out as they scroll into
+     * view, instead of in one TextView laid out in full on the UI thread.
+     *
+     * @return                  The list holding a large message, to release once the dialog is gone; null otherwise
+     */
+    private ListView bindMessage(AlertDialog.Builder dlg, String message, LargeMessage large, View below) {
+        if (large == null) {
+            dlg.setMessage(message);
+            if (below != null) {
+                dlg.setView(below);
+            }
+            return null;
         }
-        else if (action.equals("progressValue")) {
-            this.progressValue(args.getInt(0));
+        Activity activity = this.cordova.getActivity();
+        ListView listView = this.listPool.acquire(activity);
+        listView.setAdapter(new LargeMessageAdapter(activity, large, this.cordova.getThreadPool()));
+        if (below == null) {
+            dlg.setView(listView);
+        } else {
+            LinearLayout layout = new LinearLayout(activity);
+            layout.setOrientation(LinearLayout.VERTICAL);
+            layout.addView(listView, new LinearLayout.LayoutParams(LinearLayout.LayoutParams.MATCH_PARENT, 0, 1));
+            layout.addView(below, new LinearLayout.LayoutParams(LinearLayout.LayoutParams.MATCH_PARENT, LinearLayout.LayoutParams.WRAP_CONTENT));
+            dlg.setView(layout);
         }
-        else if (action.equals("progressStop")) {
-            this.progressStop();
+        return listView;
+    }
+
+    private void releaseMessage(ListView messageView, LargeMessage large) {
+        if (messageView != null) {
+            large.close();
+            this.listPool.release(messageView);
         }
-        else {
-            return false;
+    }
+
+    /**
+     * Reads up to three button labels, so the dialog can be built without touching JSON.
+     */
+    private static String[] buttonLabels(JSONArray labels) throws JSONException {
+        String[] result = new String[Math.min(labels.length(), 3)];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = labels.getString(i);
         }
+        return result;
+    }
 
-        // Only alert and confirm are async.
-        callbackContext.success();
-        return true;
+    /**
+     * Joins the parts that make two dialogs identical for the scheduler.
+     */
+    private static String dialogKey(String action, Object... parts) {
+        StringBuilder key = new StringBuilder(action);
+        for (Object part : parts) {
+            key.append('\u0000').append(part instanceof ListItems ? ((ListItems) part).contentKey() : part);
+        }
+        return key.toString();
     }
 
-    //--------------------------------------------------------------------------
-    // LOCAL METHODS
-    //--------------------------------------------------------------------------
+    /**
+     * Runs several actions for a single bridge crossing.
+     * The callback receives one {status, message} entry per action, in call
+     * order, once every action has produced its first result; a toast, which
+     * sends none, is reported as OK once it is queued.
+     *
+     * @param calls             Array of [action, args] pairs
+     * @param callbackContext   The callback context
+     */
+    public void batch(JSONArray calls, CallbackContext callbackContext) {
+        BatchResults results = new BatchResults(calls.length(), callbackContext, this.webView);
+        for (int i = 0; i < calls.length(); i++) {
+            CallbackContext slot = results.slot(i);
+            try {
+                JSONArray call = calls.getJSONArray(i);
+                String action = call.getString(0);
+                JSONArray args = call.optJSONArray(1);
+                if (action.equals("batch") || !this.execute(action, args != null ? args : new JSONArray(), slot)) {
+                    slot.sendPluginResult(new PluginResult(PluginResult.Status.INVALID_ACTION));
+                } else if (action.equals("toast")) {
+                    // toast answers nothing; its slot would otherwise hold back the whole batch.
+                    slot.success();
+                }
+            } catch (JSONException e) {
+                slot.sendPluginResult(new PluginResult(PluginResult.Status.JSON_EXCEPTION, e.getMessage()));
+            }
+        }
+    }
 
 	
 	/**
      * Função para mostrar um modal de opções para o usuário selecionar uma opção
      *
-     * @param count     Number of times to play notification
+     * @param title                 The title of the dialog
+     * @param options               The options to list
+     * @param buttonCancelLabels    Label of the cancel button, or empty for none
+     * @param dialogOptions         Scheduling options (priority, dedupe), searchable and searchHint, and stream:
+     *                              an id under which listAppend adds more items; may be null
+     * @param callbackContext       The callback context
      */
-	public synchronized void listOptions(final String title, final String thelist, final String buttonCancelLabels,final CallbackContext callbackContext) {
+	public void listOptions(final String title, final List<String> options, final String buttonCancelLabels,final JSONObject dialogOptions, final CallbackContext callbackContext) {
     
     	final CordovaInterface cordova = this.cordova;
 
-        Runnable runnable = new Runnable() {
-            public void run() {
-                
-                String[] options = thelist.replace("[", "").replace("]", "").replace("\"", "").split(",");
-                List<String> list = new ArrayList<String>();   
-                for( int x = 0; x < options.length; x++) 
-                {
-                    list.add( options[x] );
-		    	}
+        final String streamId = dialogOptions == null ? null : dialogOptions.optString("stream", null);
+        final ListStream stream = streamId == null ? null : new ListStream(options);
+        if (stream != null) {
+            // Replaces an earlier stream of the same id, whose dialog then stops growing.
+            this.streams.put(streamId, stream);
+        }
+        // The search index covers a fixed list.
+        final boolean searchable = stream == null && dialogOptions != null && dialogOptions.optBoolean("searchable", false);
+        final String searchHint = dialogOptions == null ? null : dialogOptions.optString("searchHint", null);
+
+        DialogFactory factory = new DialogFactory("listOptions") {
+            ListView listView;
+            EditText filter;
+            TextWatcher filterWatcher;
+            ListSearch search;
+
+            public String key() {
+                return dialogKey("listOptions", title, options, buttonCancelLabels, searchable, stream == null ? null : stream.serial);
+            }
+
+            public Dialog create(final CallbackContext callbackContext) {
                 
-                CharSequence[] items = list.toArray(new CharSequence[list.size()]);
+                final ListItemAdapter adapter = new ListItemAdapter(cordova.getActivity(), stream != null ? stream.items() : options, null);
+                listView = listPool.acquire(cordova.getActivity());
+                if (stream != null) {
+                    stream.attach(cordova.getActivity(), listView, adapter);
+                }
+                listView.setAdapter(adapter);
                 
                 AlertDialog.Builder dlg = new AlertDialog.Builder(cordova.getActivity());
                 dlg.setTitle(title);
                 ///permite sair do modal no btn voltar do celular
                 dlg.setCancelable(true);
-                
-                dlg.setItems(items, new DialogInterface.OnClickListener() {
-		    	    public void onClick(DialogInterface dialog, int item) {
-		    	    	dialog.dismiss();
-						// we +1 to item because item starts from 0, but from
-                        callbackContext.sendPluginResult(new PluginResult(PluginResult.Status.OK, item + 1));
-		    	    }
-		    	});
-                
+                if (searchable) {
+                    dlg.setView(searchLayout(adapter));
+                } else {
+                    dlg.setView(listView);
+                }
                 
                 if(buttonCancelLabels.length() > 0)
                 {
@@ -180,78 +495,170 @@ public class Notification extends CordovaPlugin {
                     }
                 });
 
-                dlg.create();
-                dlg.show();
+                final AlertDialog dialog = dlg.create();
+                listView.setOnItemClickListener(new AdapterView.OnItemClickListener() {
+                    public void onItemClick(AdapterView<?> parent, View view, int item, long id) {
+                        dialog.dismiss();
+                        // we +1 to item because item starts from 0, but from
+                        callbackContext.sendPluginResult(new PluginResult(PluginResult.Status.OK, adapter.itemAt(item) + 1));
+                    }
+                });
+                return dialog;
                 
             };
+
+            /**
+             * Puts a filter box above the list; its text is searched off the UI thread.
+             */
+            private View searchLayout(ListItemAdapter adapter) {
+                Activity activity = cordova.getActivity();
+                search = new ListSearch(presenter, cordova.getThreadPool(), options, adapter, metrics, "listOptions");
+                filter = inputPool.acquire(activity);
+                filter.setHint(searchHint != null ? searchHint : "Search");
+                filterWatcher = new TextWatcher() {
+                    public void beforeTextChanged(CharSequence text, int start, int count, int after) {
+                    }
+
+                    public void onTextChanged(CharSequence text, int start, int before, int count) {
+                    }
+
+                    public void afterTextChanged(Editable text) {
+                        search.query(text.toString());
+                    }
+                };
+                filter.addTextChangedListener(filterWatcher);
+                LinearLayout layout = new LinearLayout(activity);
+                layout.setOrientation(LinearLayout.VERTICAL);
+                layout.addView(filter, new LinearLayout.LayoutParams(LinearLayout.LayoutParams.MATCH_PARENT, LinearLayout.LayoutParams.WRAP_CONTENT));
+                layout.addView(listView, new LinearLayout.LayoutParams(LinearLayout.LayoutParams.MATCH_PARENT, 0, 1));
+                return layout;
+            }
+
+            public void cancel(CallbackContext callbackContext) {
+                callbackContext.sendPluginResult(new PluginResult(PluginResult.Status.OK, false));
+            }
+
+            public void dismissed() {
+                if (search != null) {
+                    search.cancel();
+                    filter.removeTextChangedListener(filterWatcher);
+                    inputPool.release(filter);
+                }
+                closeStream();
+                listPool.release(listView);
+            }
+
+            public void discarded() {
+                closeStream();
+            }
+
+            // Later listAppend calls answer false, so the caller stops fetching.
+            void closeStream() {
+                if (stream != null) {
+                    stream.close();
+                    streams.remove(streamId, stream);
+                }
+            }
         };
-        this.cordova.getActivity().runOnUiThread(runnable);
+        this.dialogs.submit(factory, dialogOptions, callbackContext);
+    }
+
+    /**
+     * Adds items to a listOptions dialog opened with a stream id.
+     *
+     * @param streamId              The stream option of the dialog
+     * @param items                 The items to add below the others
+     * @param done                  No more items follow; hides the loading footer
+     * @param callbackContext       Receives false if the dialog is gone, so the caller can stop fetching
+     */
+    public void listAppend(String streamId, final List<String> items, final boolean done, final CallbackContext callbackContext) {
+        final ListStream stream = done ? this.streams.remove(streamId) : this.streams.get(streamId);
+        if (stream == null) {
+            callbackContext.sendPluginResult(new PluginResult(PluginResult.Status.OK, false));
+            return;
+        }
+        this.presenter.post(new Runnable() {
+            public void run() {
+                callbackContext.sendPluginResult(new PluginResult(PluginResult.Status.OK, stream.append(items, done)));
+            }
+        });
     }
     
     
 	/**
      * Função para mostrar um modal de opções para o usuário selecionar uma opção
      *
-     * @param count     Number of times to play notification
+     * @param title                 The title of the dialog
+     * @param options               The options to list
+     * @param checados              The options that start checked, updated as the user taps
+     * @param buttonCancelLabels    Label of the cancel button, or empty for none
+     * @param resultFormat          How the selection is sent back, see SelectionCodec
+     * @param dialogOptions         Scheduling options (priority, dedupe), liveSelection to
+     *                              send selection changes while the dialog is open, and
+     *                              selectAll for a select all / clear all button; may be null
+     * @param callbackContext       The callback context
      */
-	public synchronized void checklist(final String title, final String thelist, final String listSelectedString, final String buttonCancelLabels, final CallbackContext callbackContext) {
+	public void checklist(final String title, final List<String> options, final BitSet checados, final String buttonCancelLabels, final String resultFormat, final JSONObject dialogOptions, final CallbackContext callbackContext) {
     
     	final CordovaInterface cordova = this.cordova;
+        final boolean liveSelection = dialogOptions != null && dialogOptions.optBoolean("liveSelection", false);
+        final String[] selectAllLabels = ChecklistSelection.selectAllLabels(dialogOptions);
 
-        Runnable runnable = new Runnable() {
-            public void run() {
-                
-                String[] options = thelist.replace("[", "").replace("]", "").replace("\"", "").split(",");
-                List<String> list = new ArrayList<String>();   
-                for( int x = 0; x < options.length; x++) 
-                {
-                    list.add(options[x]);
-		    	}
-                CharSequence[] items = list.toArray(new CharSequence[list.size()]);
-                
+        DialogFactory factory = new DialogFactory("checklist") {
+            ListView listView;
+            ListItemAdapter adapter;
+            ChecklistSelection selection;
+            Button selectAll;
+
+            public String key() {
+                return dialogKey("checklist", title, options, checados, buttonCancelLabels, resultFormat,
+                        liveSelection, dialogOptions == null ? null : dialogOptions.opt("selectAll"));
+            }
+
+            // Follows the selection: offers to clear once everything is checked.
+            void labelSelectAll() {
+                if (selectAll != null) {
+                    selectAll.setText(selection.allChecked() ? selectAllLabels[1] : selectAllLabels[0]);
+                }
+            }
+
+            public Dialog create(final CallbackContext callbackContext) {
                 
-                final boolean[] checados = new boolean[items.length]; 
+                final int quat = options.size();
                 
-                String[] listSelectedOptions = listSelectedString.replace("[", "").replace("]", "").replace("\"", "").split(",");
-                for( int x = 0; x < listSelectedOptions.length; x++) 
-                {
-                    if(listSelectedOptions[x].equals("1"))
-                    {
-                        checados[x] = true;
+                adapter = new ListItemAdapter(cordova.getActivity(), options, checados);
+                selection = new ChecklistSelection(presenter, checados, quat,
+                        liveSelection ? callbackContext : null);
+                listView = listPool.acquire(cordova.getActivity());
+                listView.setAdapter(adapter);
+                listView.setOnItemClickListener(new AdapterView.OnItemClickListener() {
+                    public void onItemClick(AdapterView<?> parent, View view, int position, long id) {
+                        selection.toggled(adapter.toggle(position, view));
+                        labelSelectAll();
                     }
-		    	}
-                
+                });
                  
                 AlertDialog.Builder dlg = new AlertDialog.Builder(cordova.getActivity());
                 //seta o título do modal
                 dlg.setTitle(title); 
                 //permite sair do modal no btn voltar do celular
                 dlg.setCancelable(true);
-                
-                dlg.setMultiChoiceItems(items, checados, new DialogInterface.OnMultiChoiceClickListener() { 
-                    public void onClick(DialogInterface arg0, int arg1, boolean arg2) { 
-                        checados[arg1] = arg2; 
-                    } 
-                }); 
+                dlg.setView(listView);
                 
                 dlg.setPositiveButton("Confirmar",
                         new AlertDialog.OnClickListener() {
                             public void onClick(DialogInterface dialog, int item) {
                                 dialog.dismiss();
                                 
-                                int quat = checados.length;
-                                String texto = "[";
-                                for (int i = 0; i < quat; i++) 
-                                {
-                                    texto += (checados[i])? "1": "0";
-                                    if(i < quat - 1)
-                                        texto += ",";
-                                } 
-                                texto += "]";
-                                
-                                callbackContext.sendPluginResult(new PluginResult(PluginResult.Status.OK, texto));
+                                callbackContext.sendPluginResult(SelectionCodec.encode(checados, quat, resultFormat));
                         }
                 });
+
+                if (selectAllLabels != null) {
+                    // The click listener is replaced once shown, so that the button does not dismiss.
+                    dlg.setNeutralButton(selection.allChecked() ? selectAllLabels[1] : selectAllLabels[0],
+                            (DialogInterface.OnClickListener) null);
+                }
                 
                if(buttonCancelLabels.length() > 0)
                 {
@@ -273,12 +680,37 @@ public class Notification extends CordovaPlugin {
                     }
                 });
                 
-                dlg.create();
-                dlg.show();
+                return dlg.create();
                 
             };
+
+            public void shown(Dialog dialog) {
+                if (selectAllLabels == null) {
+                    return;
+                }
+                selectAll = ((AlertDialog) dialog).getButton(DialogInterface.BUTTON_NEUTRAL);
+                selectAll.setOnClickListener(new View.OnClickListener() {
+                    public void onClick(View view) {
+                        selection.setAll(!selection.allChecked());
+                        adapter.notifyDataSetChanged();
+                        labelSelectAll();
+                    }
+                });
+            }
+
+            public void cancel(CallbackContext callbackContext) {
+                callbackContext.sendPluginResult(new PluginResult(PluginResult.Status.OK, false));
+            }
+
+            public void dismissed() {
+                if (selection != null) {
+                    selection.close();
+                }
+                selectAll = null;
+                listPool.release(listView);
+            }
         };
-        this.cordova.getActivity().runOnUiThread(runnable);
+        this.dialogs.submit(factory, dialogOptions, callbackContext);
     }
 	
     /**
@@ -287,23 +719,78 @@ public class Notification extends CordovaPlugin {
      * @param count     Number of times to play notification
      */
     public void beep(long count) {
-        Uri ringtone = RingtoneManager.getDefaultUri(RingtoneManager.TYPE_NOTIFICATION);
-        Ringtone notification = RingtoneManager.getRingtone(this.cordova.getActivity().getBaseContext(), ringtone);
-
-        // If phone is not set to silent mode
-        if (notification != null) {
-            for (long i = 0; i < count; ++i) {
-                notification.play();
-                long timeout = 5000;
-                while (notification.isPlaying() && (timeout > 0)) {
-                    timeout = timeout - 100;
-                    try {
-                        Thread.sleep(100);
-                    } catch (InterruptedException e) {
-                    }
-                }
-            }
+        this.beep(count, null);
+    }
+
+    /**
+     * Beep plays the default notification ringtone without blocking the caller.
+     * The callback receives the number of beeps played once the sequence
+     * finishes or is stopped.
+     *
+     * @param count             Number of times to play notification
+     * @param callbackContext   The callback context, may be null
+     */
+    public void beep(long count, CallbackContext callbackContext) {
+        this.beepPlayer.play(count, callbackContext);
+    }
+
+    /**
+     * Stops the beep sequence that is playing.
+     */
+    public void beepStop() {
+        this.beepPlayer.stop();
+    }
+
+    /**
+     * Shows a non-blocking status message. Identical messages in a row are
+     * collapsed into one with a count; see ToastChannel.
+     *
+     * @param message           The message
+     * @param longDuration      Show it for the long instead of the short period
+     */
+    public void toast(String message, boolean longDuration) {
+        this.toasts.post(message, longDuration);
+    }
+
+    /**
+     * @return          {collapsed: messages counted into an identical one, dropped: messages dropped from a full queue}
+     */
+    public JSONObject toastStats() throws JSONException {
+        JSONObject stats = new JSONObject();
+        stats.put("collapsed", this.toasts.collapsed());
+        stats.put("dropped", this.toasts.dropped());
+        return stats;
+    }
+
+    /**
+     * Keeps a parsed list under an id, so listOptions and checklist can show it
+     * without it being sent over the bridge again. Registering an id again
+     * replaces its list.
+     *
+     * @param id                The template id
+     * @param items             The list
+     */
+    public void registerTemplate(String id, ListItems items) {
+        this.templates.put(id, items);
+    }
+
+    /**
+     * @return                  True if the template was registered
+     */
+    public boolean releaseTemplate(String id) {
+        return this.templates.remove(id);
+    }
+
+    /**
+     * @return                  The list registered under id
+     * @throws IllegalArgumentException if there is none, or it was evicted
+     */
+    ListItems template(String id) {
+        ListItems items = this.templates.get(id);
+        if (items == null) {
+            throw new IllegalArgumentException("Unknown template: " + id);
         }
+        return items;
     }
 
     /**
@@ -311,16 +798,24 @@ public class Notification extends CordovaPlugin {
      * @param message           The message the alert should display
      * @param title             The title of the alert
      * @param buttonLabel       The label of the button
+     * @param options           Scheduling options (priority, dedupe), may be null
      * @param callbackContext   The callback context
      */
-    public synchronized void alert(final String message, final String title, final String buttonLabel, final CallbackContext callbackContext) {
+    public void alert(final String message, final String title, final String buttonLabel, final JSONObject options, final CallbackContext callbackContext) {
     	final CordovaInterface cordova = this.cordova;
+        final LargeMessage large = splitMessage(message);
 
-        Runnable runnable = new Runnable() {
-            public void run() {
+        DialogFactory factory = new DialogFactory("alert") {
+            ListView messageView;
+
+            public String key() {
+                return dialogKey("alert", message, title, buttonLabel);
+            }
+
+            public Dialog create(final CallbackContext callbackContext) {
 
                 AlertDialog.Builder dlg = new AlertDialog.Builder(cordova.getActivity());
-                dlg.setMessage(message);
+                messageView = bindMessage(dlg, message, large, null);
                 dlg.setTitle(title);
                 dlg.setCancelable(true);
                 dlg.setPositiveButton(buttonLabel,
@@ -338,11 +833,14 @@ public class Notification extends CordovaPlugin {
                     }
                 });
 
-                dlg.create();
-                dlg.show();
+                return dlg.create();
             };
+
+            public void dismissed() {
+                releaseMessage(messageView, large);
+            }
         };
-        this.cordova.getActivity().runOnUiThread(runnable);
+        this.dialogs.submit(factory, options, callbackContext);
     }
 
     /**
@@ -353,55 +851,58 @@ public class Notification extends CordovaPlugin {
      * @param message           The message the dialog should display
      * @param title             The title of the dialog
      * @param buttonLabels      A comma separated list of button labels (Up to 3 buttons)
+     * @param options           Scheduling options (priority, dedupe), may be null
      * @param callbackContext   The callback context.
      */
-    public synchronized void confirm(final String message, final String title, final JSONArray buttonLabels, final CallbackContext callbackContext) {
+    public void confirm(final String message, final String title, final JSONArray buttonLabels, final JSONObject options, final CallbackContext callbackContext) throws JSONException {
     	final CordovaInterface cordova = this.cordova;
+        final String[] labels = buttonLabels(buttonLabels);
+        final LargeMessage large = splitMessage(message);
 
-        Runnable runnable = new Runnable() {
-            public void run() {
+        DialogFactory factory = new DialogFactory("confirm") {
+            ListView messageView;
+
+            public String key() {
+                return dialogKey("confirm", message, title, buttonLabels);
+            }
+
+            public Dialog create(final CallbackContext callbackContext) {
                 AlertDialog.Builder dlg = new AlertDialog.Builder(cordova.getActivity());
-                dlg.setMessage(message);
+                messageView = bindMessage(dlg, message, large, null);
                 dlg.setTitle(title);
                 dlg.setCancelable(true);
 
                 // First button
-                if (buttonLabels.length() > 0) {
-                    try {
-                        dlg.setNegativeButton(buttonLabels.getString(0),
-                            new AlertDialog.OnClickListener() {
-                                public void onClick(DialogInterface dialog, int which) {
-                                    dialog.dismiss();
-                                    callbackContext.sendPluginResult(new PluginResult(PluginResult.Status.OK, 1));
-                                }
-                            });
-                    } catch (JSONException e) { }
+                if (labels.length > 0) {
+                    dlg.setNegativeButton(labels[0],
+                        new AlertDialog.OnClickListener() {
+                            public void onClick(DialogInterface dialog, int which) {
+                                dialog.dismiss();
+                                callbackContext.sendPluginResult(new PluginResult(PluginResult.Status.OK, 1));
+                            }
+                        });
                 }
 
                 // Second button
-                if (buttonLabels.length() > 1) {
-                    try {
-                        dlg.setNeutralButton(buttonLabels.getString(1),
-                            new AlertDialog.OnClickListener() {
-                                public void onClick(DialogInterface dialog, int which) {
-                                    dialog.dismiss();
-                                    callbackContext.sendPluginResult(new PluginResult(PluginResult.Status.OK, 2));
-                                }
-                            });
-                    } catch (JSONException e) { }
+                if (labels.length > 1) {
+                    dlg.setNeutralButton(labels[1],
+                        new AlertDialog.OnClickListener() {
+                            public void onClick(DialogInterface dialog, int which) {
+                                dialog.dismiss();
+                                callbackContext.sendPluginResult(new PluginResult(PluginResult.Status.OK, 2));
+                            }
+                        });
                 }
 
                 // Third button
-                if (buttonLabels.length() > 2) {
-                    try {
-                        dlg.setPositiveButton(buttonLabels.getString(2),
-                            new AlertDialog.OnClickListener() {
-                                public void onClick(DialogInterface dialog, int which) {
-                                  dialog.dismiss();
-                                  callbackContext.sendPluginResult(new PluginResult(PluginResult.Status.OK, 3));
-                                }
-                            });
-                    } catch (JSONException e) { }
+                if (labels.length > 2) {
+                    dlg.setPositiveButton(labels[2],
+                        new AlertDialog.OnClickListener() {
+                            public void onClick(DialogInterface dialog, int which) {
+                              dialog.dismiss();
+                              callbackContext.sendPluginResult(new PluginResult(PluginResult.Status.OK, 3));
+                            }
+                        });
                 }
                 dlg.setOnCancelListener(new AlertDialog.OnCancelListener() {
                     public void onCancel(DialogInterface dialog)
@@ -411,11 +912,14 @@ public class Notification extends CordovaPlugin {
                     }
                 });
 
-                dlg.create();
-                dlg.show();
+                return dlg.create();
             };
+
+            public void dismissed() {
+                releaseMessage(messageView, large);
+            }
         };
-        this.cordova.getActivity().runOnUiThread(runnable);
+        this.dialogs.submit(factory, options, callbackContext);
     }
 
     /**
@@ -428,181 +932,326 @@ public class Notification extends CordovaPlugin {
      * @param message           The message the dialog should display
      * @param title             The title of the dialog
      * @param buttonLabels      A comma separated list of button labels (Up to 3 buttons)
+     * @param defaultText       The text hint of the input
+     * @param options           Scheduling options (priority, dedupe), live and validate
+     *                          (see PromptWatcher); may be null
      * @param callbackContext   The callback context.
      */
-    public synchronized void prompt(final String message, final String title, final JSONArray buttonLabels, final String defaultText, final CallbackContext callbackContext) {
+    public void prompt(final String message, final String title, final JSONArray buttonLabels, final String defaultText, final JSONObject options, final CallbackContext callbackContext) throws JSONException {
   	
         final CordovaInterface cordova = this.cordova;
+        final String[] labels = buttonLabels(buttonLabels);
+        final LargeMessage large = splitMessage(message);
+        final PromptWatcher watcher = PromptWatcher.from(this.presenter, options, defaultText);
        
-        Runnable runnable = new Runnable() {
-            public void run() {
-                final EditText promptInput =  new EditText(cordova.getActivity());
+        DialogFactory factory = new DialogFactory("prompt") {
+            EditText input;
+            ListView messageView;
+
+            public String key() {
+                // A prompt sending live input must not answer a caller that did not ask for it.
+                return dialogKey("prompt", message, title, buttonLabels, defaultText,
+                        watcher == null ? null : String.valueOf(options.opt("live")) + options.opt("validate"));
+            }
+
+            public Dialog create(final CallbackContext callbackContext) {
+                final EditText promptInput = inputPool.acquire(cordova.getActivity());
+                input = promptInput;
                 promptInput.setHint(defaultText);
+                if (watcher != null) {
+                    watcher.attach(callbackContext);
+                    promptInput.addTextChangedListener(watcher);
+                }
                 AlertDialog.Builder dlg = new AlertDialog.Builder(cordova.getActivity());
-                dlg.setMessage(message);
+                messageView = bindMessage(dlg, message, large, promptInput);
                 dlg.setTitle(title);
                 dlg.setCancelable(true);
                 
-                dlg.setView(promptInput);
-                
-                final JSONObject result = new JSONObject();
-                
                 // First button
-                if (buttonLabels.length() > 0) {
-                    try {
-                        dlg.setNegativeButton(buttonLabels.getString(0),
-                            new AlertDialog.OnClickListener() {
-                                public void onClick(DialogInterface dialog, int which) {
-                                    dialog.dismiss();
-                                    try {
-                                        result.put("buttonIndex",1);
-                                        result.put("input1", promptInput.getText().toString().trim().length()==0 ? defaultText : promptInput.getText());											
-                                    } catch (JSONException e) { e.printStackTrace(); }
-                                    callbackContext.sendPluginResult(new PluginResult(PluginResult.Status.OK, result));
-                                }
-                            });
-                    } catch (JSONException e) { }
+                if (labels.length > 0) {
+                    dlg.setNegativeButton(labels[0],
+                        new AlertDialog.OnClickListener() {
+                            public void onClick(DialogInterface dialog, int which) {
+                                dialog.dismiss();
+                                callbackContext.sendPluginResult(new PluginResult(PluginResult.Status.OK, promptResult(1, promptInput.getText(), defaultText)));
+                            }
+                        });
                 }
 
                 // Second button
-                if (buttonLabels.length() > 1) {
-                    try {
-                        dlg.setNeutralButton(buttonLabels.getString(1),
-                            new AlertDialog.OnClickListener() {
-                                public void onClick(DialogInterface dialog, int which) {
-                                    dialog.dismiss();
-                                    try {
-                                        result.put("buttonIndex",2);
-                                        result.put("input1", promptInput.getText().toString().trim().length()==0 ? defaultText : promptInput.getText());
-                                    } catch (JSONException e) { e.printStackTrace(); }
-                                    callbackContext.sendPluginResult(new PluginResult(PluginResult.Status.OK, result));
-                                }
-                            });
-                    } catch (JSONException e) { }
+                if (labels.length > 1) {
+                    dlg.setNeutralButton(labels[1],
+                        new AlertDialog.OnClickListener() {
+                            public void onClick(DialogInterface dialog, int which) {
+                                dialog.dismiss();
+                                callbackContext.sendPluginResult(new PluginResult(PluginResult.Status.OK, promptResult(2, promptInput.getText(), defaultText)));
+                            }
+                        });
                 }
 
                 // Third button
-                if (buttonLabels.length() > 2) {
-                    try {
-                        dlg.setPositiveButton(buttonLabels.getString(2),
-                            new AlertDialog.OnClickListener() {
-                                public void onClick(DialogInterface dialog, int which) {
-                                    dialog.dismiss();
-                                    try {
-                                        result.put("buttonIndex",3);
-                                        result.put("input1", promptInput.getText().toString().trim().length()==0 ? defaultText : promptInput.getText());
-                                    } catch (JSONException e) { e.printStackTrace(); }
-                                    callbackContext.sendPluginResult(new PluginResult(PluginResult.Status.OK, result));
-                                }
-                            });
-                    } catch (JSONException e) { }
+                if (labels.length > 2) {
+                    dlg.setPositiveButton(labels[2],
+                        new AlertDialog.OnClickListener() {
+                            public void onClick(DialogInterface dialog, int which) {
+                                dialog.dismiss();
+                                callbackContext.sendPluginResult(new PluginResult(PluginResult.Status.OK, promptResult(3, promptInput.getText(), defaultText)));
+                            }
+                        });
                 }
                 dlg.setOnCancelListener(new AlertDialog.OnCancelListener() {
                     public void onCancel(DialogInterface dialog){
                         dialog.dismiss();
-                        try {
-                            result.put("buttonIndex",0);
-                            result.put("input1", promptInput.getText().toString().trim().length()==0 ? defaultText : promptInput.getText());
-                        } catch (JSONException e) { e.printStackTrace(); }
-                        callbackContext.sendPluginResult(new PluginResult(PluginResult.Status.OK, result));
+                        callbackContext.sendPluginResult(new PluginResult(PluginResult.Status.OK, promptResult(0, promptInput.getText(), defaultText)));
                     }
                 });
 
-                dlg.create();
-                dlg.show();
+                return dlg.create();
 
             };
+
+            public void cancel(CallbackContext callbackContext) {
+                callbackContext.sendPluginResult(new PluginResult(PluginResult.Status.OK, promptResult(0, input == null ? null : input.getText(), defaultText)));
+            }
+
+            public void timeout(CallbackContext callbackContext) {
+                callbackContext.sendPluginResult(new PluginResult(PluginResult.Status.OK, promptResult(-1, input == null ? null : input.getText(), defaultText)));
+            }
+
+            public void shown(Dialog dialog) {
+                if (watcher != null) {
+                    watcher.shown((AlertDialog) dialog, input.getText());
+                }
+            }
+
+            public void dismissed() {
+                if (watcher != null) {
+                    watcher.detach();
+                    input.removeTextChangedListener(watcher);
+                }
+                inputPool.release(input);
+                input = null;
+                releaseMessage(messageView, large);
+            }
         };
-        this.cordova.getActivity().runOnUiThread(runnable);
+        this.dialogs.submit(factory, options, callbackContext);
+    }
+
+    /**
+     * @param buttonIndex       The button pressed, 0 for back and -1 for a timeout
+     * @param text              The text entered, may be null
+     * @param defaultText       Sent instead of blank text
+     * @return                  The prompt's result, {buttonIndex, input1}
+     */
+    static JSONObject promptResult(int buttonIndex, CharSequence text, String defaultText) {
+        String typed = text == null ? "" : text.toString();
+        JSONObject result = new JSONObject();
+        try {
+            result.put("buttonIndex", buttonIndex);
+            result.put("input1", typed.trim().length() == 0 ? defaultText : typed);
+        } catch (JSONException e) { e.printStackTrace(); }
+        return result;
     }
 
     /**
      * Show the spinner.
+     * May be called from any thread, in any order with activityStop.
      *
      * @param title     Title of the dialog
      * @param message   The message of the dialog
      */
-    public synchronized void activityStart(final String title, final String message) {
-        if (this.spinnerDialog != null) {
-            this.spinnerDialog.dismiss();
-            this.spinnerDialog = null;
-        }
-        final CordovaInterface cordova = this.cordova;
+    public void activityStart(final String title, final String message) {
+        final long generation = this.spinner.start();
         Runnable runnable = new Runnable() {
             public void run() {
-                Notification.this.spinnerDialog = ProgressDialog.show(cordova.getActivity(), title, message, true, true,
-                        new DialogInterface.OnCancelListener() {
-                            public void onCancel(DialogInterface dialog) {
-                                Notification.this.spinnerDialog = null;
-                            }
-                        });
+                if (!spinner.isPending(generation)) {
+                    // Stopped or restarted before it got here.
+                    return;
+                }
+                DialogPresenter.Progress dialog = presenter.createProgress(title, message, false, new DialogPresenter.Listener() {
+                    public void shown() {
+                    }
+
+                    public void dismissed() {
+                        spinner.dismissed(generation);
+                    }
+                });
+                if (spinner.showing(generation, dialog)) {
+                    dialog.show();
+                }
             }
         };
-        this.cordova.getActivity().runOnUiThread(runnable);
+        this.presenter.post(runnable);
     }
 
     /**
      * Stop spinner.
      */
-    public synchronized void activityStop() {
-        if (this.spinnerDialog != null) {
-            this.spinnerDialog.dismiss();
-            this.spinnerDialog = null;
-        }
+    public void activityStop() {
+        this.spinner.stop();
     }
 
     /**
      * Show the progress dialog.
+     * May be called from any thread, in any order with progressStop.
      *
      * @param title     Title of the dialog
      * @param message   The message of the dialog
      */
-    public synchronized void progressStart(final String title, final String message) {
-        if (this.progressDialog != null) {
-            this.progressDialog.dismiss();
-            this.progressDialog = null;
-        }
-        final Notification notification = this;
-        final CordovaInterface cordova = this.cordova;
+    public void progressStart(final String title, final String message) {
+        this.pendingProgress.set(NO_PROGRESS);
+        final long generation = this.progress.start();
         Runnable runnable = new Runnable() {
             public void run() {
-                notification.progressDialog = new ProgressDialog(cordova.getActivity());
-                notification.progressDialog.setProgressStyle(ProgressDialog.STYLE_HORIZONTAL);
-                notification.progressDialog.setTitle(title);
-                notification.progressDialog.setMessage(message);
-                notification.progressDialog.setCancelable(true);
-                notification.progressDialog.setMax(100);
-                notification.progressDialog.setProgress(0);
-                notification.progressDialog.setOnCancelListener(
-                        new DialogInterface.OnCancelListener() {
-                            public void onCancel(DialogInterface dialog) {
-                                notification.progressDialog = null;
-                            }
-                        });
-                notification.progressDialog.show();
+                if (!progress.isPending(generation)) {
+                    return;
+                }
+                DialogPresenter.Progress dialog = presenter.createProgress(title, message, true, new DialogPresenter.Listener() {
+                    public void shown() {
+                    }
+
+                    public void dismissed() {
+                        progress.dismissed(generation);
+                    }
+                });
+                if (progress.showing(generation, dialog)) {
+                    dialog.show();
+                    // Apply any value that arrived before the dialog existed.
+                    progressTasks.touch();
+                    progressFrames.request();
+                }
             }
         };
-        this.cordova.getActivity().runOnUiThread(runnable);
+        this.presenter.post(runnable);
     }
 
     /**
      * Set value of progress bar.
+     * Values are coalesced: only the latest one is applied, at most once per frame,
+     * on the UI thread. Never blocks the caller.
      *
      * @param value     0-100
      */
-    public synchronized void progressValue(int value) {
-        if (this.progressDialog != null) {
-            this.progressDialog.setProgress(value);
+    public void progressValue(int value) {
+        this.progressUpdates.incrementAndGet();
+        if (this.pendingProgress.getAndSet(value) != NO_PROGRESS) {
+            // The previous value was replaced before it reached the screen.
+            this.progressDropped.incrementAndGet();
         }
+        this.progressFrames.request();
     }
 
     /**
-     * Stop progress dialog.
+     * Adds a task to the progress dialog, or restarts the task with that id.
+     * Once tasks exist the bar shows their weighted total.
+     *
+     * @param id        Task id
+     * @param weight    Share of the task in the total, e.g. its size in bytes
+     */
+    public void progressTaskStart(String id, double weight) {
+        this.progressTasks.start(id, weight);
+        this.progressFrames.request();
+    }
+
+    /**
+     * Sets the value of one task. Coalesced like progressValue.
+     *
+     * @param id        Task id
+     * @param value     0-100
+     * @return          False if no task has that id
      */
-    public synchronized void progressStop() {
-        if (this.progressDialog != null) {
-            this.progressDialog.dismiss();
-            this.progressDialog = null;
+    public boolean progressTaskValue(String id, int value) {
+        if (!this.progressTasks.set(id, value)) {
+            return false;
         }
+        this.progressUpdates.incrementAndGet();
+        this.progressFrames.request();
+        return true;
+    }
+
+    /**
+     * Marks a task as done.
+     *
+     * @return          False if no task has that id
+     */
+    public boolean progressTaskEnd(String id) {
+        return this.progressTaskValue(id, 100);
+    }
+
+    /**
+     * Sends {total, tasks: {id: value}} to the callback, kept alive, at once and
+     * then once per frame in which anything changed. progressStop sends the last
+     * one. Replaces the previous watcher.
+     */
+    public void progressWatch(final CallbackContext callbackContext) {
+        this.presenter.post(new Runnable() {
+            public void run() {
+                progressWatcher = callbackContext;
+                // Answered even without tasks, so that a batch holding the watch completes.
+                sendProgress(progressTasks.total(), true);
+            }
+        });
+    }
+
+    /**
+     * Applies the latest progress value. Runs on the UI thread once per frame.
+     */
+    private void applyProgress() {
+        DialogPresenter.Progress dialog = this.progress.current();
+        if (this.progressTasks.consume()) {
+            int total = this.progressTasks.total();
+            if (dialog != null && !this.progressTasks.isEmpty()) {
+                dialog.setProgress(total);
+            }
+            sendProgress(total, true);
+        }
+        if (dialog == null) {
+            // Keep the value until progressStart has shown the dialog.
+            return;
+        }
+        int value = this.pendingProgress.getAndSet(NO_PROGRESS);
+        if (value != NO_PROGRESS) {
+            dialog.setProgress(value);
+        }
+    }
+
+    private void sendProgress(int total, boolean keepCallback) {
+        CallbackContext watcher = this.progressWatcher;
+        if (watcher == null) {
+            return;
+        }
+        try {
+            PluginResult result = new PluginResult(PluginResult.Status.OK, this.progressTasks.toJSON(total));
+            result.setKeepCallback(keepCallback);
+            watcher.sendPluginResult(result);
+        } catch (JSONException e) {
+            LOG.e(LOG_TAG, "Unable to report progress", e);
+        }
+    }
+
+    /**
+     * Counters of the progressValue and progressTaskValue coalescing.
+     *
+     * @return          {updates: values received, dropped: values replaced before they were shown}
+     */
+    public JSONObject progressStats() throws JSONException {
+        JSONObject stats = new JSONObject();
+        stats.put("updates", this.progressUpdates.get());
+        stats.put("dropped", this.progressDropped.get() + this.progressTasks.replaced());
+        return stats;
+    }
+
+    /**
+     * Stop progress dialog.
+     */
+    public void progressStop() {
+        this.progress.stop();
+        this.presenter.post(new Runnable() {
+            public void run() {
+                sendProgress(progressTasks.total(), false);
+                progressWatcher = null;
+                progressTasks.clear();
+            }
+        });
     }
 }
@@ -0,0 +1,226 @@
+/*
+       Licensed to the Apache Software Foundation (ASF) under one
+       or more contributor license agreements.  See the NOTICE file
+       distributed with this work for additional information
+       regarding copyright ownership.  The ASF licenses this file
+       to you under the Apache License, Version 2.0 (the
+       "License"); you may not use this file except in compliance
+       with the License.  You may obtain a copy of the License at
+
+         http://www.apache.org/licenses/LICENSE-2.0
+
+       Unless required by applicable law or agreed to in writing,
+       software distributed under the License is distributed on an
+       "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+       KIND, either express or implied.  See the License for the
+       specific language governing permissions and limitations
+       under the License.
+*/
+package org.apache.cordova.dialogs;
+
+import org.apache.cordova.CallbackContext;
+import org.apache.cordova.LOG;
+import org.apache.cordova.PluginResult;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.util.Map;
+
+/**
+ * The built-in actions of the Notification plugin. Each handler decodes its own
+ * arguments from the array passed to execute.
+ *
+ * The dialog actions are wrapped in Prepared: their arguments are decoded and
+ * their dialog queued on the plugin's preparation executor, so neither the
+ * bridge thread nor the UI thread pays for parsing large lists.
+ */
+final class NotificationActions {
+
+    private static final String LOG_TAG = "Notification";
+
+    private NotificationActions() {
+    }
+
+    /**
+     * Runs a handler on the preparation executor instead of the calling thread.
+     * Errors that would have been thrown from execute are sent as results.
+     */
+    private static final class Prepared implements ActionHandler {
+        private final ActionHandler handler;
+
+        Prepared(ActionHandler handler) {
+            this.handler = handler;
+        }
+
+        public void execute(final Notification n, final JSONArray args, final CallbackContext callbackContext) {
+            n.prepare(new Runnable() {
+                public void run() {
+                    try {
+                        handler.execute(n, args, callbackContext);
+                    } catch (JSONException e) {
+                        callbackContext.sendPluginResult(new PluginResult(PluginResult.Status.JSON_EXCEPTION, e.getMessage()));
+                    } catch (RuntimeException e) {
+                        LOG.e(LOG_TAG, "Unable to prepare dialog", e);
+                        callbackContext.sendPluginResult(new PluginResult(PluginResult.Status.ERROR, String.valueOf(e.getMessage())));
+                    }
+                }
+            });
+        }
+    }
+
+    /**
+     * Decodes the list argument of listOptions and checklist: a list, or
+     * {template: id} for a list registered with registerTemplate.
+     */
+    private static ListItems items(Notification n, Object list) throws JSONException {
+        if (list instanceof JSONObject && ((JSONObject) list).has("template")) {
+            return n.template(((JSONObject) list).getString("template"));
+        }
+        return ListItems.from(list);
+    }
+
+    static void registerAll(Map<String, ActionHandler> actions) {
+        actions.put("listOptions", new Prepared(new ActionHandler() {
+            public void execute(Notification n, JSONArray args, CallbackContext callbackContext) throws JSONException {
+                n.listOptions(args.getString(0), items(n, args.get(1)), args.getString(2), args.optJSONObject(3), callbackContext);
+            }
+        }));
+        actions.put("listAppend", new Prepared(new ActionHandler() {
+            public void execute(Notification n, JSONArray args, CallbackContext callbackContext) throws JSONException {
+                n.listAppend(args.getString(0), ListItems.from(args.get(1)), args.optBoolean(2, false), callbackContext);
+            }
+        }));
+        actions.put("checklist", new Prepared(new ActionHandler() {
+            public void execute(Notification n, JSONArray args, CallbackContext callbackContext) throws JSONException {
+                ListItems items = items(n, args.get(1));
+                JSONObject options = args.optJSONObject(4);
+                n.checklist(args.getString(0), items, SelectionCodec.decode(args.opt(2), items.size()), args.getString(3),
+                        options == null ? null : options.optString("resultFormat", null), options, callbackContext);
+            }
+        }));
+        actions.put("registerTemplate", new Prepared(new ActionHandler() {
+            public void execute(Notification n, JSONArray args, CallbackContext callbackContext) throws JSONException {
+                n.registerTemplate(args.getString(0), ListItems.from(args.get(1)));
+                callbackContext.success();
+            }
+        }));
+        actions.put("releaseTemplate", new Prepared(new ActionHandler() {
+            public void execute(Notification n, JSONArray args, CallbackContext callbackContext) throws JSONException {
+                callbackContext.sendPluginResult(new PluginResult(PluginResult.Status.OK, n.releaseTemplate(args.getString(0))));
+            }
+        }));
+        actions.put("beep", new ActionHandler() {
+            public void execute(Notification n, JSONArray args, CallbackContext callbackContext) throws JSONException {
+                n.beep(args.getLong(0), callbackContext);
+            }
+        });
+        actions.put("beepStop", new ActionHandler() {
+            public void execute(Notification n, JSONArray args, CallbackContext callbackContext) {
+                n.beepStop();
+                callbackContext.success();
+            }
+        });
+        actions.put("alert", new Prepared(new ActionHandler() {
+            public void execute(Notification n, JSONArray args, CallbackContext callbackContext) throws JSONException {
+                n.alert(args.getString(0), args.getString(1), args.getString(2), args.optJSONObject(3), callbackContext);
+            }
+        }));
+        actions.put("confirm", new Prepared(new ActionHandler() {
+            public void execute(Notification n, JSONArray args, CallbackContext callbackContext) throws JSONException {
+                n.confirm(args.getString(0), args.getString(1), args.getJSONArray(2), args.optJSONObject(3), callbackContext);
+            }
+        }));
+        actions.put("prompt", new Prepared(new ActionHandler() {
+            public void execute(Notification n, JSONArray args, CallbackContext callbackContext) throws JSONException {
+                n.prompt(args.getString(0), args.getString(1), args.getJSONArray(2), args.getString(3), args.optJSONObject(4), callbackContext);
+            }
+        }));
+        actions.put("activityStart", new ActionHandler() {
+            public void execute(Notification n, JSONArray args, CallbackContext callbackContext) throws JSONException {
+                n.activityStart(args.getString(0), args.getString(1));
+                callbackContext.success();
+            }
+        });
+        actions.put("activityStop", new ActionHandler() {
+            public void execute(Notification n, JSONArray args, CallbackContext callbackContext) {
+                n.activityStop();
+                callbackContext.success();
+            }
+        });
+        actions.put("progressStart", new ActionHandler() {
+            public void execute(Notification n, JSONArray args, CallbackContext callbackContext) throws JSONException {
+                n.progressStart(args.getString(0), args.getString(1));
+                callbackContext.success();
+            }
+        });
+        actions.put("progressValue", new ActionHandler() {
+            public void execute(Notification n, JSONArray args, CallbackContext callbackContext) throws JSONException {
+                n.progressValue(args.getInt(0));
+                callbackContext.success();
+            }
+        });
+        actions.put("progressStop", new ActionHandler() {
+            public void execute(Notification n, JSONArray args, CallbackContext callbackContext) {
+                n.progressStop();
+                callbackContext.success();
+            }
+        });
+        actions.put("progressTaskStart", new ActionHandler() {
+            public void execute(Notification n, JSONArray args, CallbackContext callbackContext) throws JSONException {
+                n.progressTaskStart(args.getString(0), args.optDouble(1, 1));
+                callbackContext.success();
+            }
+        });
+        actions.put("progressTaskValue", new ActionHandler() {
+            public void execute(Notification n, JSONArray args, CallbackContext callbackContext) throws JSONException {
+                if (n.progressTaskValue(args.getString(0), args.getInt(1))) {
+                    callbackContext.success();
+                } else {
+                    callbackContext.error("Unknown progress task: " + args.getString(0));
+                }
+            }
+        });
+        actions.put("progressTaskEnd", new ActionHandler() {
+            public void execute(Notification n, JSONArray args, CallbackContext callbackContext) throws JSONException {
+                if (n.progressTaskEnd(args.getString(0))) {
+                    callbackContext.success();
+                } else {
+                    callbackContext.error("Unknown progress task: " + args.getString(0));
+                }
+            }
+        });
+        actions.put("progressWatch", new ActionHandler() {
+            public void execute(Notification n, JSONArray args, CallbackContext callbackContext) {
+                n.progressWatch(callbackContext);
+            }
+        });
+        actions.put("toast", new ActionHandler() {
+            public void execute(Notification n, JSONArray args, CallbackContext callbackContext) throws JSONException {
+                // Fire and forget: no result is sent, so nothing waits for one.
+                n.toast(args.getString(0), "long".equals(args.optString(1)));
+            }
+        });
+        actions.put("toastStats", new ActionHandler() {
+            public void execute(Notification n, JSONArray args, CallbackContext callbackContext) throws JSONException {
+                callbackContext.success(n.toastStats());
+            }
+        });
+        actions.put("progressStats", new ActionHandler() {
+            public void execute(Notification n, JSONArray args, CallbackContext callbackContext) throws JSONException {
+                callbackContext.success(n.progressStats());
+            }
+        });
+        actions.put("batch", new ActionHandler() {
+            public void execute(Notification n, JSONArray args, CallbackContext callbackContext) throws JSONException {
+                n.batch(args.getJSONArray(0), callbackContext);
+            }
+        });
+        actions.put("getMetrics", new ActionHandler() {
+            public void execute(Notification n, JSONArray args, CallbackContext callbackContext) throws JSONException {
+                callbackContext.success(n.getMetrics());
+            }
+        });
+    }
+}
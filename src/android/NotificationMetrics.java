@@ -0,0 +1,130 @@
+/*
+       Licensed to the Apache Software Foundation (ASF) under one
+       or more contributor license agreements.  See the NOTICE file
+       distributed with this work for additional information
+       regarding copyright ownership.  The ASF licenses this file
+       to you under the Apache License, Version 2.0 (the
+       "License"); you may not use this file except in compliance
+       with the License.  You may obtain a copy of the License at
+
+         http://www.apache.org/licenses/LICENSE-2.0
+
+       Unless required by applicable law or agreed to in writing,
+       software distributed under the License is distributed on an
+       "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+       KIND, either express or implied.  See the License for the
+       specific language governing permissions and limitations
+       under the License.
+*/
+package org.apache.cordova.dialogs;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Latency histograms of every action, per stage of its life:
+ *
+ *     dispatch    arrival in execute until execute returns
+ *     post        arrival in execute until the dialog request runs on the UI thread
+ *     show        UI thread until the dialog is on screen (includes waiting in the queue)
+ *     response    on screen until the user answers
+ *     send        the answer until sendPluginResult returns
+ *     total       arrival in execute until the first result is sent
+ *     filter      keystroke in a searchable list until its results are on screen
+ *
+ * The histograms of an action are created the first time it is seen; after that
+ * recording does not allocate.
+ */
+final class NotificationMetrics {
+
+    static final int DISPATCH = 0;
+    static final int POST = 1;
+    static final int SHOW = 2;
+    static final int RESPONSE = 3;
+    static final int SEND = 4;
+    static final int TOTAL = 5;
+    static final int FILTER = 6;
+
+    private static final String[] STAGES = { "dispatch", "post", "show", "response", "send", "total", "filter" };
+
+    private final ConcurrentHashMap<String, LatencyHistogram[]> actions = new ConcurrentHashMap<String, LatencyHistogram[]>();
+    private final Map<String, Long> coldShows = new ConcurrentHashMap<String, Long>();
+    private volatile MetricsListener[] listeners = new MetricsListener[0];
+
+    /**
+     * @param action    The action
+     * @param stage     One of the stage constants
+     * @param nanos     Duration of the stage
+     */
+    void record(String action, int stage, long nanos) {
+        LatencyHistogram[] histograms = this.actions.get(action);
+        if (histograms == null) {
+            histograms = new LatencyHistogram[STAGES.length];
+            for (int i = 0; i < histograms.length; i++) {
+                histograms[i] = new LatencyHistogram();
+            }
+            LatencyHistogram[] raced = this.actions.putIfAbsent(action, histograms);
+            if (raced != null) {
+                histograms = raced;
+            }
+        }
+        long micros = nanos / 1000;
+        histograms[stage].record(micros);
+        MetricsListener[] current = this.listeners;
+        for (int i = 0; i < current.length; i++) {
+            current[i].onSample(action, STAGES[stage], micros);
+        }
+    }
+
+    /**
+     * Remembers how long the first dialog of an action took to appear.
+     */
+    void recordColdShow(String action, long nanos) {
+        this.coldShows.put(action, nanos / 1000);
+    }
+
+    synchronized void addListener(MetricsListener listener) {
+        MetricsListener[] grown = new MetricsListener[this.listeners.length + 1];
+        System.arraycopy(this.listeners, 0, grown, 0, this.listeners.length);
+        grown[this.listeners.length] = listener;
+        this.listeners = grown;
+    }
+
+    synchronized void removeListener(MetricsListener listener) {
+        MetricsListener[] current = this.listeners;
+        for (int i = 0; i < current.length; i++) {
+            if (current[i] == listener) {
+                MetricsListener[] shrunk = new MetricsListener[current.length - 1];
+                System.arraycopy(current, 0, shrunk, 0, i);
+                System.arraycopy(current, i + 1, shrunk, i, current.length - i - 1);
+                this.listeners = shrunk;
+                return;
+            }
+        }
+    }
+
+    /**
+     * @return          {action: {stage: {count, p50, p95, p99, max}, coldShow}}, in microseconds
+     */
+    JSONObject toJSON() throws JSONException {
+        JSONObject json = new JSONObject();
+        for (Map.Entry<String, LatencyHistogram[]> entry : this.actions.entrySet()) {
+            JSONObject action = new JSONObject();
+            LatencyHistogram[] histograms = entry.getValue();
+            for (int i = 0; i < histograms.length; i++) {
+                if (histograms[i].count() > 0) {
+                    action.put(STAGES[i], histograms[i].toJSON());
+                }
+            }
+            Long cold = this.coldShows.get(entry.getKey());
+            if (cold != null) {
+                action.put("coldShow", cold.longValue());
+            }
+            json.put(entry.getKey(), action);
+        }
+        return json;
+    }
+}
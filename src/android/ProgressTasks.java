@@ -0,0 +1,145 @@
+/*
+       Licensed to the Apache Software Foundation (ASF) under one
+       or more contributor license agreements.  See the NOTICE file
+       distributed with this work for additional information
+       regarding copyright ownership.  The ASF licenses this file
+       to you under the Apache License, Version 2.0 (the
+       "License"); you may not use this file except in compliance
+       with the License.  You may obtain a copy of the License at
+
+         http://www.apache.org/licenses/LICENSE-2.0
+
+       Unless required by applicable law or agreed to in writing,
+       software distributed under the License is distributed on an
+       "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+       KIND, either express or implied.  See the License for the
+       specific language governing permissions and limitations
+       under the License.
+*/
+package org.apache.cordova.dialogs;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Weighted tasks that together drive the progress dialog.
+ *
+ * Each task reports its own value from 0 to 100; the dialog shows the average of
+ * the values weighted by the tasks' weights. Reporting only stores the value and
+ * raises a flag, the total is computed once per frame by whoever consumes the
+ * flag. Safe to use from any thread without locking.
+ */
+final class ProgressTasks {
+
+    private static final class Task {
+        final double weight;
+        volatile int value;
+        // Set while the value has not been consumed yet.
+        final AtomicBoolean fresh = new AtomicBoolean();
+
+        Task(double weight) {
+            this.weight = weight;
+        }
+    }
+
+    private final Map<String, Task> tasks = new ConcurrentHashMap<String, Task>();
+    private final AtomicBoolean changed = new AtomicBoolean();
+    private final AtomicLong replaced = new AtomicLong();
+
+    /**
+     * Adds a task at 0, or restarts one with the same id.
+     *
+     * @param weight    Share of the task in the total; non-positive weights count as 1
+     */
+    void start(String id, double weight) {
+        this.tasks.put(id, new Task(weight > 0 ? weight : 1));
+        this.changed.set(true);
+    }
+
+    /**
+     * @return          False if no task has that id
+     */
+    boolean set(String id, int value) {
+        Task task = this.tasks.get(id);
+        if (task == null) {
+            return false;
+        }
+        task.value = Math.max(0, Math.min(100, value));
+        if (task.fresh.getAndSet(true)) {
+            // The previous value was replaced before it reached the screen.
+            this.replaced.incrementAndGet();
+        }
+        this.changed.set(true);
+        return true;
+    }
+
+    /**
+     * @return          Values set and replaced by the next one before a consume()
+     */
+    long replaced() {
+        return this.replaced.get();
+    }
+
+    void clear() {
+        this.tasks.clear();
+        this.changed.set(true);
+    }
+
+    boolean isEmpty() {
+        return this.tasks.isEmpty();
+    }
+
+    /**
+     * Forces the next consume() to report a change, e.g. after a new dialog was shown.
+     */
+    void touch() {
+        if (!this.tasks.isEmpty()) {
+            this.changed.set(true);
+        }
+    }
+
+    /**
+     * @return          True if anything changed since the last call
+     */
+    boolean consume() {
+        if (!this.changed.getAndSet(false)) {
+            return false;
+        }
+        for (Task task : this.tasks.values()) {
+            task.fresh.set(false);
+        }
+        return true;
+    }
+
+    /**
+     * @return          The weighted total from 0 to 100, 0 without tasks
+     */
+    int total() {
+        double weights = 0;
+        double sum = 0;
+        for (Task task : this.tasks.values()) {
+            weights += task.weight;
+            sum += task.weight * task.value;
+        }
+        return weights == 0 ? 0 : (int) Math.round(sum / weights);
+    }
+
+    /**
+     * @return          {total, tasks: {id: value}}
+     */
+    JSONObject toJSON(int total) throws JSONException {
+        JSONObject values = new JSONObject();
+        for (Map.Entry<String, Task> entry : this.tasks.entrySet()) {
+            values.put(entry.getKey(), entry.getValue().value);
+        }
+        JSONObject json = new JSONObject();
+        json.put("total", total);
+        json.put("tasks", values);
+        return json;
+    }
+}
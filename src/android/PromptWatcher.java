@@ -0,0 +1,218 @@
+/*
+       Licensed to the Apache Software Foundation (ASF) under one
+       or more contributor license agreements.  See the NOTICE file
+       distributed with this work for additional information
+       regarding copyright ownership.  The ASF licenses this file
+       to you under the Apache License, Version 2.0 (the
+       "License"); you may not use this file except in compliance
+       with the License.  You may obtain a copy of the License at
+
+         http://www.apache.org/licenses/LICENSE-2.0
+
+       Unless required by applicable law or agreed to in writing,
+       software distributed under the License is distributed on an
+       "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+       KIND, either express or implied.  See the License for the
+       specific language governing permissions and limitations
+       under the License.
+*/
+package org.apache.cordova.dialogs;
+
+import org.apache.cordova.CallbackContext;
+import org.apache.cordova.LOG;
+import org.apache.cordova.PluginResult;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import android.app.AlertDialog;
+import android.content.DialogInterface;
+import android.text.Editable;
+import android.text.TextWatcher;
+import android.widget.Button;
+
+import java.util.regex.Pattern;
+
+/**
+ * Watches the input of a prompt: validates it natively as it is typed, enabling
+ * or disabling the buttons that need valid input, and optionally sends the text
+ * to JavaScript while the dialog is open.
+ *
+ * Live input is throttled: the first change after a quiet period schedules one
+ * event an interval later, and changes until then only replace the text it will
+ * carry. Events are keep-alive results on the prompt's callback, sent before
+ * its final result.
+ *
+ * Built off the UI thread, where the pattern is compiled; used on the UI thread.
+ */
+final class PromptWatcher implements TextWatcher {
+
+    private static final String LOG_TAG = "Notification";
+    private static final long DEFAULT_INTERVAL = 100;
+    private static final Pattern NUMERIC = Pattern.compile("[-+]?(\\d+\\.?\\d*|\\.\\d+)");
+    // The dialog button of each buttonIndex, see Notification.prompt.
+    private static final int[] BUTTONS = { DialogInterface.BUTTON_NEGATIVE, DialogInterface.BUTTON_NEUTRAL, DialogInterface.BUTTON_POSITIVE };
+
+    private final String defaultText;
+    private final boolean validating;
+    private final int minLength;
+    private final int maxLength;
+    private final Pattern pattern;
+    private final boolean numeric;
+    private final int[] gated;
+    private final long interval;
+    private final DialogPresenter presenter;
+    private final Runnable flush = new Runnable() {
+        public void run() {
+            scheduled = false;
+            sendInput();
+        }
+    };
+
+    // Only touched on the UI thread.
+    private CallbackContext callbackContext;
+    private AlertDialog dialog;
+    private String latest;
+    private boolean scheduled;
+
+    private PromptWatcher(DialogPresenter presenter, JSONObject validate, long interval, String defaultText) {
+        this.presenter = presenter;
+        this.defaultText = defaultText;
+        this.validating = validate != null;
+        this.minLength = validate == null ? 0 : validate.optInt("minLength", 0);
+        this.maxLength = validate == null ? Integer.MAX_VALUE : validate.optInt("maxLength", Integer.MAX_VALUE);
+        String regex = validate == null ? null : validate.optString("pattern", null);
+        this.pattern = regex == null ? null : Pattern.compile(regex);
+        this.numeric = validate != null && validate.optBoolean("numeric", false);
+        JSONArray buttons = validate == null ? null : validate.optJSONArray("buttons");
+        if (buttons == null) {
+            // The first button is the one that accepts, as in ["OK", "Cancel"].
+            this.gated = new int[] { 1 };
+        } else {
+            this.gated = new int[buttons.length()];
+            for (int i = 0; i < this.gated.length; i++) {
+                this.gated[i] = buttons.optInt(i);
+            }
+        }
+        this.interval = interval;
+    }
+
+    /**
+     * @param presenter     Where the live input events are posted
+     * @param options       The prompt's options: live (true, or the interval in
+     *                      milliseconds) and validate ({minLength, maxLength,
+     *                      pattern, numeric, buttons}); may be null
+     * @param defaultText   Sent instead of blank input, and validated as such
+     * @return              A watcher, or null if neither option is set
+     * @throws java.util.regex.PatternSyntaxException if the pattern is not a valid regular expression
+     */
+    static PromptWatcher from(DialogPresenter presenter, JSONObject options, String defaultText) {
+        if (options == null) {
+            return null;
+        }
+        JSONObject validate = options.optJSONObject("validate");
+        Object live = options.opt("live");
+        long interval = 0;
+        if (live instanceof Number) {
+            interval = Math.max(1, ((Number) live).longValue());
+        } else if (Boolean.TRUE.equals(live)) {
+            interval = DEFAULT_INTERVAL;
+        }
+        if (validate == null && interval == 0) {
+            return null;
+        }
+        return new PromptWatcher(presenter, validate, interval, defaultText);
+    }
+
+    /**
+     * @return          True if text, or the default text it stands for when blank, passes every rule
+     */
+    boolean accepts(CharSequence text) {
+        String value = text.toString().trim().length() == 0 ? this.defaultText : text.toString();
+        if (value == null) {
+            value = "";
+        }
+        if (value.length() < this.minLength || value.length() > this.maxLength) {
+            return false;
+        }
+        if (this.numeric && !NUMERIC.matcher(value.trim()).matches()) {
+            return false;
+        }
+        return this.pattern == null || this.pattern.matcher(value).matches();
+    }
+
+    /**
+     * Starts watching the dialog built for a callback. The buttons are set once
+     * the dialog is shown.
+     */
+    void attach(CallbackContext callbackContext) {
+        this.callbackContext = callbackContext;
+    }
+
+    /**
+     * The dialog is on screen and its buttons exist.
+     */
+    void shown(AlertDialog dialog, CharSequence text) {
+        this.dialog = dialog;
+        updateButtons(accepts(text));
+    }
+
+    /**
+     * The dialog is gone: drops the event still waiting to be sent.
+     */
+    void detach() {
+        this.presenter.removeCallbacks(this.flush);
+        this.scheduled = false;
+        this.dialog = null;
+        this.callbackContext = null;
+    }
+
+    public void beforeTextChanged(CharSequence text, int start, int count, int after) {
+    }
+
+    public void onTextChanged(CharSequence text, int start, int before, int count) {
+    }
+
+    public void afterTextChanged(Editable text) {
+        if (this.validating) {
+            updateButtons(accepts(text));
+        }
+        if (this.interval > 0 && this.callbackContext != null) {
+            this.latest = text.toString();
+            if (!this.scheduled) {
+                this.scheduled = true;
+                this.presenter.postDelayed(this.flush, this.interval);
+            }
+        }
+    }
+
+    private void updateButtons(boolean valid) {
+        if (!this.validating || this.dialog == null) {
+            return;
+        }
+        for (int index : this.gated) {
+            Button button = index >= 1 && index <= BUTTONS.length ? this.dialog.getButton(BUTTONS[index - 1]) : null;
+            if (button != null) {
+                button.setEnabled(valid);
+            }
+        }
+    }
+
+    private void sendInput() {
+        if (this.callbackContext == null || this.latest == null) {
+            return;
+        }
+        try {
+            JSONObject event = new JSONObject();
+            event.put("event", "input");
+            event.put("text", this.latest);
+            event.put("valid", accepts(this.latest));
+            PluginResult result = new PluginResult(PluginResult.Status.OK, event);
+            result.setKeepCallback(true);
+            this.callbackContext.sendPluginResult(result);
+        } catch (JSONException e) {
+            LOG.e(LOG_TAG, "Unable to send prompt input", e);
+        }
+    }
+}
@@ -0,0 +1,164 @@
+/*
+       Licensed to the Apache Software Foundation (ASF) under one
+       or more contributor license agreements.  See the NOTICE file
+       distributed with this work for additional information
+       regarding copyright ownership.  The ASF licenses this file
+       to you under the Apache License, Version 2.0 (the
+       "License"); you may not use this file except in compliance
+       with the License.  You may obtain a copy of the License at
+
+         http://www.apache.org/licenses/LICENSE-2.0
+
+       Unless required by applicable law or agreed to in writing,
+       software distributed under the License is distributed on an
+       "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+       KIND, either express or implied.  See the License for the
+       specific language governing permissions and limitations
+       under the License.
+*/
+package org.apache.cordova.dialogs;
+
+import org.apache.cordova.PluginResult;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import android.util.Base64;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Encodes and decodes the checked state of a checklist.
+ *
+ * Three formats are understood in both directions:
+ *     legacy      "[1,0,1]" flags, one per item (the original format)
+ *     bitset      packed bits, item i in byte i / 8 at bit i % 8, sent as an ArrayBuffer
+ *     indices     an array with the index of every checked item
+ */
+final class SelectionCodec {
+
+    static final String FORMAT_LEGACY = "legacy";
+    static final String FORMAT_BITSET = "bitset";
+    static final String FORMAT_INDICES = "indices";
+
+    private SelectionCodec() {
+    }
+
+    /**
+     * Decodes the preselection argument of checklist.
+     *
+     * @param value     A JSONArray of flags, a {"indices": [...]} object, a "[1,0]" or
+     *                  "1,0" string, or the base64 string Cordova makes of an ArrayBuffer bitset
+     * @param size      Number of items in the list
+     * @return          The checked items
+     */
+    static BitSet decode(Object value, int size) throws JSONException {
+        BitSet checked = new BitSet(size);
+        if (value instanceof JSONArray) {
+            JSONArray flags = (JSONArray) value;
+            int n = Math.min(flags.length(), size);
+            for (int i = 0; i < n; i++) {
+                if (isSet(flags.opt(i))) {
+                    checked.set(i);
+                }
+            }
+        } else if (value instanceof JSONObject) {
+            JSONArray indices = ((JSONObject) value).optJSONArray(FORMAT_INDICES);
+            int n = indices == null ? 0 : indices.length();
+            for (int i = 0; i < n; i++) {
+                int index = indices.optInt(i, -1);
+                if (index >= 0 && index < size) {
+                    checked.set(index);
+                }
+            }
+        } else if (value instanceof String) {
+            String s = ((String) value).trim();
+            if (!isBase64(s)) {
+                ListItems flags = ListItems.parse(s);
+                int n = Math.min(flags.size(), size);
+                for (int i = 0; i < n; i++) {
+                    if (isSet(flags.get(i))) {
+                        checked.set(i);
+                    }
+                }
+            } else if (s.length() > 0) {
+                checked.or(BitSet.valueOf(Base64.decode(s, Base64.DEFAULT)));
+                if (checked.length() > size) {
+                    checked.clear(size, checked.length());
+                }
+            }
+        }
+        return checked;
+    }
+
+    /**
+     * Builds the result of a confirmed checklist.
+     *
+     * @param checked   The checked items
+     * @param size      Number of items in the list
+     * @param format    One of the FORMAT_ constants, legacy when null or unknown
+     * @return          The result to send back
+     */
+    static PluginResult encode(BitSet checked, int size, String format) {
+        if (FORMAT_BITSET.equals(format)) {
+            return new PluginResult(PluginResult.Status.OK, toBytes(checked, size));
+        }
+        if (FORMAT_INDICES.equals(format)) {
+            JSONArray indices = new JSONArray();
+            for (int i = checked.nextSetBit(0); i >= 0 && i < size; i = checked.nextSetBit(i + 1)) {
+                indices.put(i);
+            }
+            return new PluginResult(PluginResult.Status.OK, indices);
+        }
+        return new PluginResult(PluginResult.Status.OK, toLegacyString(checked, size));
+    }
+
+    static byte[] toBytes(BitSet checked, int size) {
+        return Arrays.copyOf(checked.toByteArray(), (size + 7) / 8);
+    }
+
+    static String toLegacyString(BitSet checked, int size) {
+        StringBuilder texto = new StringBuilder(size * 2 + 1);
+        texto.append('[');
+        for (int i = 0; i < size; i++) {
+            if (i > 0) {
+                texto.append(',');
+            }
+            texto.append(checked.get(i) ? '1' : '0');
+        }
+        return texto.append(']').toString();
+    }
+
+    /**
+     * @return          True for a string that can only be a base64 bitset: nothing
+     *                  but base64 characters, and not just 0/1 flags such as "1"
+     */
+    private static boolean isBase64(String s) {
+        boolean flags = true;
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c == '\n' || c == '\r') {
+                // Base64 may be wrapped.
+                continue;
+            }
+            boolean digit = c >= '0' && c <= '9';
+            if (!(digit || (c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z') || c == '+' || c == '/' || c == '=')) {
+                return false;
+            }
+            flags &= c == '0' || c == '1';
+        }
+        return s.length() > 0 && !flags;
+    }
+
+    private static boolean isSet(Object flag) {
+        if (flag instanceof Number) {
+            return ((Number) flag).intValue() == 1;
+        }
+        if (flag instanceof Boolean) {
+            return (Boolean) flag;
+        }
+        return flag instanceof String && "1".equals(((String) flag).trim());
+    }
+}
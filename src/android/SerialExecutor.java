@@ -0,0 +1,76 @@
+/*
+       Licensed to the Apache Software Foundation (ASF) under one
+       or more contributor license agreements.  See the NOTICE file
+       distributed with this work for additional information
+       regarding copyright ownership.  The ASF licenses this file
+       to you under the Apache License, Version 2.0 (the
+       "License"); you may not use this file except in compliance
+       with the License.  You may obtain a copy of the License at
+
+         http://www.apache.org/licenses/LICENSE-2.0
+
+       Unless required by applicable law or agreed to in writing,
+       software distributed under the License is distributed on an
+       "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+       KIND, either express or implied.  See the License for the
+       specific language governing permissions and limitations
+       under the License.
+*/
+package org.apache.cordova.dialogs;
+
+import org.apache.cordova.LOG;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Runs tasks one at a time, in submission order, on a shared thread pool.
+ *
+ * Dialog arguments are prepared here so that two dialogs requested in order
+ * reach the scheduler in that order, without holding a pool thread while idle.
+ * Submitting never blocks.
+ */
+final class SerialExecutor implements Executor {
+
+    private static final String LOG_TAG = "Notification";
+
+    private final Executor executor;
+    private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<Runnable>();
+    private final AtomicBoolean draining = new AtomicBoolean();
+
+    private final Runnable drain = new Runnable() {
+        public void run() {
+            try {
+                Runnable task;
+                while ((task = tasks.poll()) != null) {
+                    try {
+                        task.run();
+                    } catch (RuntimeException e) {
+                        LOG.e(LOG_TAG, "Task failed", e);
+                    }
+                }
+            } finally {
+                draining.set(false);
+                // A task may have been added after the last poll but before the flag was cleared.
+                schedule();
+            }
+        }
+    };
+
+    SerialExecutor(Executor executor) {
+        this.executor = executor;
+    }
+
+    public void execute(Runnable task) {
+        this.tasks.add(task);
+        schedule();
+    }
+
+    private void schedule() {
+        if (!this.tasks.isEmpty() && this.draining.compareAndSet(false, true)) {
+            this.executor.execute(this.drain);
+        }
+    }
+}
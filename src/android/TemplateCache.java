@@ -0,0 +1,79 @@
+/*
+       Licensed to the Apache Software Foundation (ASF) under one
+       or more contributor license agreements.  See the NOTICE file
+       distributed with this work for additional information
+       regarding copyright ownership.  The ASF licenses this file
+       to you under the Apache License, Version 2.0 (the
+       "License"); you may not use this file except in compliance
+       with the License.  You may obtain a copy of the License at
+
+         http://www.apache.org/licenses/LICENSE-2.0
+
+       Unless required by applicable law or agreed to in writing,
+       software distributed under the License is distributed on an
+       "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+       KIND, either express or implied.  See the License for the
+       specific language governing permissions and limitations
+       under the License.
+*/
+package org.apache.cordova.dialogs;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Lists registered once under an id, so later dialogs can refer to them instead
+ * of sending and parsing the whole list again.
+ *
+ * The cache is bounded by the estimated memory of its lists: registering a list
+ * evicts the least recently used ones until the total fits again. A single list
+ * larger than the whole budget is still kept, alone.
+ */
+final class TemplateCache {
+
+    private final long maxBytes;
+    // Access ordered: iteration starts at the least recently used entry. Guarded by this.
+    private final LinkedHashMap<String, ListItems> templates = new LinkedHashMap<String, ListItems>(16, 0.75f, true);
+    private long bytes;
+
+    TemplateCache(long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    synchronized void put(String id, ListItems items) {
+        ListItems previous = this.templates.put(id, items);
+        if (previous != null) {
+            this.bytes -= previous.estimatedBytes();
+        }
+        this.bytes += items.estimatedBytes();
+        // The new entry is the most recently used, so it is the last to go.
+        Iterator<Map.Entry<String, ListItems>> eldest = this.templates.entrySet().iterator();
+        while (this.bytes > this.maxBytes && this.templates.size() > 1) {
+            Map.Entry<String, ListItems> entry = eldest.next();
+            this.bytes -= entry.getValue().estimatedBytes();
+            eldest.remove();
+        }
+    }
+
+    /**
+     * @return          The list, or null if it was never registered, released or evicted
+     */
+    synchronized ListItems get(String id) {
+        return this.templates.get(id);
+    }
+
+    synchronized boolean remove(String id) {
+        ListItems removed = this.templates.remove(id);
+        if (removed == null) {
+            return false;
+        }
+        this.bytes -= removed.estimatedBytes();
+        return true;
+    }
+
+    synchronized void clear() {
+        this.templates.clear();
+        this.bytes = 0;
+    }
+}
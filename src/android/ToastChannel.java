@@ -0,0 +1,150 @@
+/*
+       Licensed to the Apache Software Foundation (ASF) under one
+       or more contributor license agreements.  See the NOTICE file
+       distributed with this work for additional information
+       regarding copyright ownership.  The ASF licenses this file
+       to you under the Apache License, Version 2.0 (the
+       "License"); you may not use this file except in compliance
+       with the License.  You may obtain a copy of the License at
+
+         http://www.apache.org/licenses/LICENSE-2.0
+
+       Unless required by applicable law or agreed to in writing,
+       software distributed under the License is distributed on an
+       "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+       KIND, either express or implied.  See the License for the
+       specific language governing permissions and limitations
+       under the License.
+*/
+package org.apache.cordova.dialogs;
+
+import android.content.Context;
+import android.widget.Toast;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Shows short status messages as toasts, one at a time.
+ *
+ * Messages wait in a bounded queue; when it is full the oldest waiting message is
+ * dropped, since a newer status replaces an older one. A message identical to the
+ * last one waiting is not queued again but counted, and shown once as
+ * "message (×N)". The next toast is only shown when the previous one has had its
+ * time on screen, so however fast messages arrive the UI thread handles at most
+ * one toast per display period.
+ *
+ * post() may be called from any thread; it takes a short lock on the queue and
+ * only wakes the UI thread when no toast is on screen.
+ */
+final class ToastChannel {
+
+    private static final long SHORT_MILLIS = 2000;
+    private static final long LONG_MILLIS = 3500;
+
+    private static final class Entry {
+        final String message;
+        final boolean lengthLong;
+        int count = 1;
+
+        Entry(String message, boolean lengthLong) {
+            this.message = message;
+            this.lengthLong = lengthLong;
+        }
+
+        String text() {
+            return this.count == 1 ? this.message : this.message + " (×" + this.count + ")";
+        }
+    }
+
+    private final Context context;
+    private final int capacity;
+    private final DialogPresenter presenter;
+    private final AtomicLong collapsed = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+
+    // Guarded by queue.
+    private final ArrayDeque<Entry> queue = new ArrayDeque<Entry>();
+    private boolean running;
+
+    // Only touched on the UI thread.
+    private Toast current;
+
+    private final Runnable showNext = new Runnable() {
+        public void run() {
+            Entry next;
+            synchronized (queue) {
+                next = queue.poll();
+                if (next == null) {
+                    running = false;
+                    return;
+                }
+            }
+            current = Toast.makeText(context, next.text(), next.lengthLong ? Toast.LENGTH_LONG : Toast.LENGTH_SHORT);
+            current.show();
+            presenter.postDelayed(this, next.lengthLong ? LONG_MILLIS : SHORT_MILLIS);
+        }
+    };
+
+    /**
+     * @param presenter     Owner of the UI thread the toasts are shown on
+     * @param context       Context of the toasts
+     * @param capacity      Maximum number of messages waiting
+     */
+    ToastChannel(DialogPresenter presenter, Context context, int capacity) {
+        this.presenter = presenter;
+        this.context = context.getApplicationContext();
+        this.capacity = Math.max(1, capacity);
+    }
+
+    /**
+     * Queues a message.
+     *
+     * @param message       Text of the toast
+     * @param lengthLong         Show it for the long instead of the short period
+     */
+    void post(String message, boolean lengthLong) {
+        boolean wake;
+        synchronized (this.queue) {
+            Entry last = this.queue.peekLast();
+            if (last != null && last.lengthLong == lengthLong && last.message.equals(message)) {
+                last.count++;
+                this.collapsed.incrementAndGet();
+                return;
+            }
+            if (this.queue.size() >= this.capacity) {
+                this.queue.poll();
+                this.dropped.incrementAndGet();
+            }
+            this.queue.add(new Entry(message, lengthLong));
+            wake = !this.running;
+            this.running = true;
+        }
+        if (wake) {
+            this.presenter.post(this.showNext);
+        }
+    }
+
+    /**
+     * Drops the waiting messages and hides the toast on screen. Call on the UI thread.
+     */
+    void clear() {
+        this.presenter.removeCallbacks(this.showNext);
+        synchronized (this.queue) {
+            this.queue.clear();
+            this.running = false;
+        }
+        if (this.current != null) {
+            this.current.cancel();
+            this.current = null;
+        }
+    }
+
+    long collapsed() {
+        return this.collapsed.get();
+    }
+
+    long dropped() {
+        return this.dropped.get();
+    }
+}
@@ -0,0 +1,88 @@
+/*
+       Licensed to the Apache Software Foundation (ASF) under one
+       or more contributor license agreements.  See the NOTICE file
+       distributed with this work for additional information
+       regarding copyright ownership.  The ASF licenses this file
+       to you under the Apache License, Version 2.0 (the
+       "License"); you may not use this file except in compliance
+       with the License.  You may obtain a copy of the License at
+
+         http://www.apache.org/licenses/LICENSE-2.0
+
+       Unless required by applicable law or agreed to in writing,
+       software distributed under the License is distributed on an
+       "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+       KIND, either express or implied.  See the License for the
+       specific language governing permissions and limitations
+       under the License.
+*/
+package org.apache.cordova.dialogs;
+
+import org.apache.cordova.CallbackContext;
+import org.apache.cordova.CordovaWebView;
+import org.apache.cordova.PluginResult;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Wraps the callback of one execute call and timestamps its way through the plugin.
+ *
+ * execute creates it on arrival, the dialog scheduler marks when the request reaches
+ * the UI thread and when the dialog is on screen, and the first final result sent
+ * through it closes the trace. Keep-alive results, such as the input events of a
+ * live prompt, and anything after the final result pass straight through.
+ */
+class TracedCallback extends CallbackContext {
+
+    private final String action;
+    private final long arrived;
+    private final NotificationMetrics metrics;
+    private final CallbackContext delegate;
+    private final AtomicBoolean finished = new AtomicBoolean();
+    private volatile long posted;
+    private volatile long shown;
+
+    TracedCallback(String action, long arrived, NotificationMetrics metrics, CallbackContext delegate, CordovaWebView webView) {
+        super(delegate.getCallbackId(), webView);
+        this.action = action;
+        this.arrived = arrived;
+        this.metrics = metrics;
+        this.delegate = delegate;
+    }
+
+    String getAction() {
+        return this.action;
+    }
+
+    void dispatched() {
+        this.metrics.record(this.action, NotificationMetrics.DISPATCH, System.nanoTime() - this.arrived);
+    }
+
+    void posted() {
+        this.posted = System.nanoTime();
+        this.metrics.record(this.action, NotificationMetrics.POST, this.posted - this.arrived);
+    }
+
+    void shown() {
+        this.shown = System.nanoTime();
+        if (this.posted != 0) {
+            this.metrics.record(this.action, NotificationMetrics.SHOW, this.shown - this.posted);
+        }
+    }
+
+    @Override
+    public void sendPluginResult(PluginResult pluginResult) {
+        if (pluginResult.getKeepCallback() || !this.finished.compareAndSet(false, true)) {
+            this.delegate.sendPluginResult(pluginResult);
+            return;
+        }
+        long responded = System.nanoTime();
+        if (this.shown != 0) {
+            this.metrics.record(this.action, NotificationMetrics.RESPONSE, responded - this.shown);
+        }
+        this.delegate.sendPluginResult(pluginResult);
+        long sent = System.nanoTime();
+        this.metrics.record(this.action, NotificationMetrics.SEND, sent - responded);
+        this.metrics.record(this.action, NotificationMetrics.TOTAL, sent - this.arrived);
+    }
+}
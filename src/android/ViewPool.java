@@ -0,0 +1,82 @@
+/*
+       Licensed to the Apache Software Foundation (ASF) under one
+       or more contributor license agreements.  See the NOTICE file
+       distributed with this work for additional information
+       regarding copyright ownership.  The ASF licenses this file
+       to you under the Apache License, Version 2.0 (the
+       "License"); you may not use this file except in compliance
+       with the License.  You may obtain a copy of the License at
+
+         http://www.apache.org/licenses/LICENSE-2.0
+
+       Unless required by applicable law or agreed to in writing,
+       software distributed under the License is distributed on an
+       "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+       KIND, either express or implied.  See the License for the
+       specific language governing permissions and limitations
+       under the License.
+*/
+package org.apache.cordova.dialogs;
+
+import android.content.Context;
+import android.view.View;
+import android.view.ViewGroup;
+import android.view.ViewParent;
+
+import java.util.ArrayDeque;
+
+/**
+ * A small pool of content views of one type, such as the prompt input.
+ *
+ * Views are reset and handed out again instead of being constructed for every
+ * dialog. The pool is owned by the UI thread and holds its views' Activity, so it
+ * must be cleared when the Activity goes away.
+ */
+abstract class ViewPool<T extends View> {
+
+    private final ArrayDeque<T> free = new ArrayDeque<T>();
+    private final int capacity;
+
+    ViewPool(int capacity) {
+        this.capacity = capacity;
+    }
+
+    /**
+     * Builds a new view.
+     */
+    protected abstract T create(Context context);
+
+    /**
+     * Returns a view to the state create() left it in.
+     */
+    protected abstract void reset(T view);
+
+    T acquire(Context context) {
+        T view = this.free.poll();
+        return view != null ? view : create(context);
+    }
+
+    void release(T view) {
+        ViewParent parent = view.getParent();
+        if (parent instanceof ViewGroup) {
+            ((ViewGroup) parent).removeView(view);
+        }
+        if (this.free.size() < this.capacity) {
+            reset(view);
+            this.free.push(view);
+        }
+    }
+
+    /**
+     * Fills the pool so the first dialog does not pay for constructing its views.
+     */
+    void prewarm(Context context) {
+        while (this.free.size() < this.capacity) {
+            this.free.push(create(context));
+        }
+    }
+
+    void clear() {
+        this.free.clear();
+    }
+}
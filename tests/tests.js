@@ -30,6 +30,11 @@ exports.defineAutoTests = function () {
             expect(typeof navigator.notification.beep).toBe("function");
         });
 
+        it("should contain a beepStop function", function () {
+            expect(typeof navigator.notification.beepStop).toBeDefined();
+            expect(typeof navigator.notification.beepStop).toBe("function");
+        });
+
         it("should contain an alert function", function () {
             expect(typeof navigator.notification.alert).toBeDefined();
             expect(typeof navigator.notification.alert).toBe("function");
@@ -131,6 +136,93 @@ exports.defineManualTests = function (contentEl, createActionButton) {
             buttons);
     };
 
+    var startStopStorm = function () {
+        clearLog();
+        var n = navigator.notification;
+        var calls = [
+            function () { n.activityStart('Spinner', 'storm'); },
+            function () { n.activityStop(); },
+            function () { n.progressStart('Progress', 'storm'); },
+            function () { n.progressValue(50); },
+            function () { n.progressStop(); }
+        ];
+        // Interleave start and stop calls back to back and from timers, so that
+        // stops regularly overtake the start they belong to.
+        for (var i = 0; i < 200; i++) {
+            var call = calls[Math.floor(Math.random() * calls.length)];
+            if (i % 3 === 0) {
+                setTimeout(call, Math.floor(Math.random() * 50));
+            } else {
+                call();
+            }
+        }
+        setTimeout(function () {
+            n.activityStop();
+            n.progressStop();
+            logMessage("Storm finished, no spinner or progress dialog should remain.");
+        }, 100);
+    };
+
+    var largeAlert = function () {
+        clearLog();
+        var line = 'Lorem ipsum dolor sit amet, consectetur adipiscing elit, sed do eiusmod tempor incididunt ut labore.\n';
+        var text = new Array(Math.ceil((1024 * 1024) / line.length) + 1).join(line);
+        navigator.notification.alert(text, function () {
+            navigator.notification.getMetrics(function (metrics) {
+                var show = metrics.alert && metrics.alert.show;
+                logMessage("1 MB alert: " + text.length + " chars, opened in " + (show ? show.max : '?') + " us (slowest alert so far).");
+                logMessage("Allocations of splitting and scrolling it are measured by LargeMessageBenchmark in perf/.");
+            });
+        }, 'Large message', 'Close');
+    };
+
+    var streamedList = function () {
+        clearLog();
+        var n = navigator.notification;
+        var page = function (from) {
+            var items = [];
+            for (var i = from; i < from + 50; i++) {
+                items.push('Item ' + (i + 1));
+            }
+            return items;
+        };
+        n.listOptions('Streamed list', page(0), function (index) {
+            logMessage(index ? "Picked Item " + index : "Cancelled");
+        }, 'Cancel', {stream: 'manual_test'});
+        // Simulate a paged backend: one page every 500 ms, ten pages in all.
+        var next = function (from) {
+            setTimeout(function () {
+                var done = from + 50 >= 500;
+                n.listAppend('manual_test', page(from), done, function (open) {
+                    if (open && !done) {
+                        next(from + 50);
+                    } else {
+                        logMessage(open ? "All 500 items loaded." : "Dialog closed after " + from + " items, stopped loading.");
+                    }
+                });
+            }, 500);
+        };
+        next(50);
+    };
+
+    var liveChecklist = function () {
+        clearLog();
+        var items = [];
+        for (var i = 0; i < 5000; i++) {
+            items.push('Item ' + (i + 1));
+        }
+        navigator.notification.checklist('Live checklist', items, function (result) {
+            logMessage(result ? "Confirmed" : "Cancelled");
+        }, {indices: [0]}, 'Cancel', {
+            resultFormat: 'indices',
+            selectAll: true,
+            onSelection: function (change) {
+                logMessage(change.count + " checked" + (change.all !== undefined ? " (all " + change.all + ")" : "") +
+                    ", +" + JSON.stringify(change.checked) + " -" + JSON.stringify(change.unchecked));
+            }
+        });
+    };
+
     /******************************************************************************/
 
     var dialogs_tests = '<div id="beep"></div>' +
@@ -150,7 +242,15 @@ exports.defineManualTests = function (contentEl, createActionButton) {
         '<p/> <div id="built_in_confirm"></div>' +
         'Expected result: Dialog will have title "index.html" and say "You selected confirm". Press Cancel or OK to close dialog. Nothing will get updated in status box.' +
         '<p/> <div id="built_in_prompt"></div>' +
-        'Expected result: Dialog will have title "index.html" and say "This is a prompt". "Default value" will be in text box. Press Cancel or OK to close dialog. Nothing will get updated in status box.';
+        'Expected result: Dialog will have title "index.html" and say "This is a prompt". "Default value" will be in text box. Press Cancel or OK to close dialog. Nothing will get updated in status box.' +
+        '<p/> <div id="start_stop_storm"></div>' +
+        'Expected result: Spinner and progress dialogs flicker for a moment. Once the status box says the storm finished, no dialog is left on screen.' +
+        '<p/> <div id="large_alert"></div>' +
+        'Expected result: An alert with 1 MB of text opens without a visible stall and scrolls smoothly. Press Close; the status box shows how long it took to open.' +
+        '<p/> <div id="streamed_list"></div>' +
+        'Expected result: A list with 50 items opens at once with a loading indicator below them. The list can be scrolled and picked from while it grows to 500 items, then the indicator disappears. Closing it early stops the loading.' +
+        '<p/> <div id="live_checklist"></div>' +
+        'Expected result: A checklist of 5000 items opens with Item 1 checked. Each tap logs the count and only the changed index. Select all checks every item without closing the dialog and logs a single line with all true; the button then reads Clear all.';
 
     contentEl.innerHTML = '<div id="info"></div>' +
         dialogs_tests;
@@ -186,4 +286,20 @@ exports.defineManualTests = function (contentEl, createActionButton) {
     createActionButton('Built-in Prompt Dialog', function () {
         prompt('This is a prompt', 'Default value');
     }, 'built_in_prompt');
+
+    createActionButton('Start/Stop Storm', function () {
+        startStopStorm();
+    }, 'start_stop_storm');
+
+    createActionButton('1 MB Alert', function () {
+        largeAlert();
+    }, 'large_alert');
+
+    createActionButton('Streamed List', function () {
+        streamedList();
+    }, 'streamed_list');
+
+    createActionButton('Live Checklist', function () {
+        liveChecklist();
+    }, 'live_checklist');
 };
@@ -21,6 +21,51 @@
 
 var exec = require('cordova/exec');
 
+// PluginResult.Status.OK
+var STATUS_OK = 1;
+
+var queue = [];
+
+/**
+ * Send every call queued during the current tick in one bridge crossing.
+ */
+function flush() {
+    var calls = queue;
+    queue = [];
+    if (calls.length === 1) {
+        exec(calls[0].win, calls[0].fail, 'Notification', calls[0].action, calls[0].args);
+        return;
+    }
+    var actions = calls.map(function (call) {
+        return [ call.action, call.args ];
+    });
+    exec(function (results) {
+        results.forEach(function (result, i) {
+            var callback = (result.status === STATUS_OK) ? calls[i].win : calls[i].fail;
+            if (callback) {
+                callback(result.message);
+            }
+        });
+    }, function (error) {
+        calls.forEach(function (call) {
+            if (call.fail) {
+                call.fail(error);
+            }
+        });
+    }, 'Notification', 'batch', [ actions ]);
+}
+
+/**
+ * Like exec, but calls made in the same tick are sent together as one batch.
+ * Queued calls keep their order relative to each other.
+ */
+function queueExec(win, fail, action, args) {
+    queue.push({ win: win, fail: fail, action: action, args: args });
+    if (queue.length === 1) {
+        setTimeout(flush, 0);
+    }
+}
+
 /**
  * Provides Android enhanced notification API.
  */
@@ -33,14 +78,14 @@ module.exports = {
             message = 'Please wait...';
         }
 
-        exec(null, null, 'Notification', 'activityStart', [ title, message ]);
+        queueExec(null, null, 'activityStart', [ title, message ]);
     },
 
     /**
      * Close an activity dialog
      */
     activityStop : function() {
-        exec(null, null, 'Notification', 'activityStop', []);
+        queueExec(null, null, 'activityStop', []);
     },
 
     /**
@@ -52,14 +97,14 @@ module.exports = {
      *            message Message to display in the dialog.
      */
     progressStart : function(title, message) {
-        exec(null, null, 'Notification', 'progressStart', [ title, message ]);
+        queueExec(null, null, 'progressStart', [ title, message ]);
     },
 
     /**
      * Close the progress dialog.
      */
     progressStop : function() {
-        exec(null, null, 'Notification', 'progressStop', []);
+        queueExec(null, null, 'progressStop', []);
     },
 
     /**
@@ -69,6 +114,165 @@ module.exports = {
      *            value 0-100
      */
     progressValue : function(value) {
-        exec(null, null, 'Notification', 'progressValue', [ value ]);
+        queueExec(null, null, 'progressValue', [ value ]);
+    },
+
+    /**
+     * Add a task to the progress dialog. Once tasks exist the bar shows their
+     * total, weighted natively, so there is no need to aggregate in JavaScript.
+     *
+     * @param {String}
+     *            id Task id; starting an existing id restarts that task at 0.
+     * @param {Number}
+     *            weight Share of the task in the total, e.g. its size in
+     *            bytes (Optional, defaults to 1).
+     */
+    progressTaskStart : function(id, weight) {
+        queueExec(null, null, 'progressTaskStart', [ id, weight || 1 ]);
+    },
+
+    /**
+     * Set the value of one task. Values are coalesced like progressValue.
+     *
+     * @param {String}
+     *            id Task id
+     * @param {Number}
+     *            value 0-100
+     */
+    progressTaskValue : function(id, value) {
+        queueExec(null, null, 'progressTaskValue', [ id, value ]);
+    },
+
+    /**
+     * Mark a task as done (100).
+     *
+     * @param {String}
+     *            id Task id
+     */
+    progressTaskEnd : function(id) {
+        queueExec(null, null, 'progressTaskEnd', [ id ]);
+    },
+
+    /**
+     * Follow the progress tasks. The callback receives {total, tasks: {id:
+     * value}} at once, then at most once per frame while anything changes, and
+     * a last time when progressStop is called. Replaces a previous watcher.
+     *
+     * @param {Function}
+     *            progressCallback Called with every snapshot.
+     */
+    progressWatch : function(progressCallback) {
+        exec(progressCallback, null, 'Notification', 'progressWatch', []);
+    },
+
+    /**
+     * Report how progressValue calls were coalesced.
+     *
+     * @param {Function}
+     *            successCallback Called with {updates, dropped}; dropped values
+     *            were replaced by a newer one before the next frame.
+     */
+    progressStats : function(successCallback) {
+        queueExec(successCallback, null, 'progressStats', []);
+    },
+
+    /**
+     * Show a short, non-blocking status message. Identical messages in a row
+     * are shown once with a count, and only a bounded number of messages wait
+     * to be shown, so this can be called for every status change.
+     *
+     * @param {String}
+     *            message Text of the message.
+     * @param {String}
+     *            duration 'short' or 'long' (Optional, defaults to 'short').
+     */
+    toast : function(message, duration) {
+        // No callbacks: nothing is registered on this side or answered natively.
+        exec(null, null, 'Notification', 'toast', [ String(message), duration || 'short' ]);
+    },
+
+    /**
+     * Report how toast messages were collapsed or dropped.
+     *
+     * @param {Function}
+     *            successCallback Called with {collapsed, dropped}.
+     */
+    toastStats : function(successCallback) {
+        exec(successCallback, null, 'Notification', 'toastStats', []);
+    },
+
+    /**
+     * Add items to a listOptions dialog opened with {stream: id} in its options.
+     * The dialog shows a loading indicator below its items until done is true.
+     *
+     * @param {String}
+     *            id The stream option of the dialog.
+     * @param {Array|String}
+     *            items The items to add, in any format listOptions accepts.
+     * @param {Boolean}
+     *            done No more items follow.
+     * @param {Function}
+     *            successCallback Called with true once the items are shown, or
+     *            false if the dialog was closed meanwhile (Optional).
+     */
+    listAppend : function(id, items, done, successCallback) {
+        exec(successCallback, null, 'Notification', 'listAppend', [ String(id), items, !!done ]);
+    },
+
+    /**
+     * Send a list to the native side once and keep it under an id. Pass
+     * {template: id} as the list of listOptions or checklist to show it
+     * without sending it again. Registered lists are evicted least recently
+     * used first when they exceed the NotificationTemplateCacheBytes preference.
+     *
+     * @param {String}
+     *            id Template id; registering it again replaces the list.
+     * @param {Array|String}
+     *            list The list, in any format listOptions accepts.
+     * @param {Function}
+     *            successCallback Called once the list is parsed and stored (Optional).
+     * @param {Function}
+     *            errorCallback Called if the list cannot be parsed (Optional).
+     */
+    registerTemplate : function(id, list, successCallback, errorCallback) {
+        // Not queued: a dialog shown right after must find the template.
+        exec(successCallback, errorCallback, 'Notification', 'registerTemplate', [ String(id), list ]);
+    },
+
+    /**
+     * Drop a registered list. Dialogs already asked to show it are not affected.
+     *
+     * @param {String}
+     *            id Template id.
+     * @param {Function}
+     *            successCallback Called with true if the template was registered (Optional).
+     */
+    releaseTemplate : function(id, successCallback) {
+        exec(successCallback, null, 'Notification', 'releaseTemplate', [ String(id) ]);
+    },
+
+    /**
+     * Run several actions in one bridge crossing.
+     *
+     * @param {Array}
+     *            calls Array of [action, args] pairs, e.g.
+     *            [['progressStart', ['Upload', 'Sending...']], ['progressValue', [10]]]
+     * @param {Function}
+     *            resultCallback Called with one {status, message} entry per
+     *            action once every action has produced its first result.
+     */
+    batch : function(calls, resultCallback) {
+        exec(resultCallback, null, 'Notification', 'batch', [ calls ]);
+    },
+
+    /**
+     * Get latency percentiles of every action the plugin has run.
+     *
+     * @param {Function}
+     *            successCallback Called with {action: {stage: {count, p50,
+     *            p95, p99, max}}}, all in microseconds.
+     */
+    getMetrics : function(successCallback) {
+        exec(successCallback, null, 'Notification', 'getMetrics', []);
     }
 };
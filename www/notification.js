@@ -33,25 +33,61 @@ module.exports = {
      *
      * 
      * @param {String} title         Title of the alert dialog (default: Alert)
-     * @param {String} list          Lista de opções
+     * @param {String} list          Lista de opções, or {template: id} on Android
 	 * @param {Function} completeCallback   The callback that is called when user clicks on a button.
+     * @param {String} buttonCancelLabels   Label of the cancel button (default: no button)
+     * @param {Object} options              priority, dedupe
+     * @param {Function} errorCallback      Called if the dialog cannot be shown, e.g. an unknown template (Optional)
      */
-	listOptions: function(title, list, completeCallback, buttonCancelLabels) {
+	listOptions: function(title, list, completeCallback, buttonCancelLabels, options, errorCallback) {
         var _buttonCancelLabels = (buttonCancelLabels || "");
-        exec(completeCallback, null, "Notification", "listOptions", [title, list, _buttonCancelLabels]);
+        var _options = (options || {});
+        exec(completeCallback, errorCallback, "Notification", "listOptions", [title, list, _buttonCancelLabels, _options]);
     },
     /**
      * Abre um modal com uma lista de opções para o usuário selecionar.
      *
      * 
      * @param {String} title         Title of the alert dialog (default: Alert)
-     * @param {String} list          Lista de opções
+     * @param {String} list          Lista de opções, or {template: id} on Android
 	 * @param {Function} completeCallback   The callback that is called when user clicks on a button.
+     * @param {Array} listSelected          Flags of the checked options, {indices: [...]}, or a packed bitset (ArrayBuffer/Uint8Array)
+     * @param {String} buttonCancelLabels   Label of the cancel button (default: no button)
+     * @param {Object} options              priority, dedupe, resultFormat: "legacy" (default), "bitset" or "indices";
+     *                                      on Android also selectAll (true or [selectLabel, clearLabel]) and
+     *                                      onSelection, a function called with {checked, unchecked, count, all}
+     *                                      at most once per frame while the user changes the selection
+     * @param {Function} errorCallback      Called if the dialog cannot be shown, e.g. an unknown template (Optional)
      */
-	checklist: function(title, list, completeCallback, listSelected, buttonCancelLabels) {
+	checklist: function(title, list, completeCallback, listSelected, buttonCancelLabels, options, errorCallback) {
         var _listSelected = (listSelected || "[]");
         var _buttonCancelLabels = (buttonCancelLabels || "");
-        exec(completeCallback, null, "Notification", "checklist", [title, list, _listSelected, _buttonCancelLabels]);
+        var _options = {};
+        var onSelection = null;
+        for (var key in (options || {})) {
+            if (key === 'onSelection') {
+                onSelection = options.onSelection;
+            } else {
+                _options[key] = options[key];
+            }
+        }
+        var win = completeCallback;
+        if (typeof onSelection === 'function') {
+            _options.liveSelection = true;
+            // Selection events arrive on the same callback as the final result.
+            win = function(result) {
+                if (result && result.event === 'selection') {
+                    onSelection(result);
+                } else if (completeCallback) {
+                    completeCallback(result);
+                }
+            };
+        }
+        // ArrayBuffers are sent as binary, typed array views are not.
+        if (typeof Uint8Array !== 'undefined' && _listSelected instanceof Uint8Array) {
+            _listSelected = _listSelected.buffer.slice(_listSelected.byteOffset, _listSelected.byteOffset + _listSelected.byteLength);
+        }
+        exec(win, errorCallback, "Notification", "checklist", [title, list, _listSelected, _buttonCancelLabels, _options]);
     },
     /**
      * Open a native alert dialog, with a customizable title and button text.
@@ -60,11 +96,13 @@ module.exports = {
      * @param {Function} completeCallback   The callback that is called when user clicks on a button.
      * @param {String} title                Title of the alert dialog (default: Alert)
      * @param {String} buttonLabel          Label of the close button (default: OK)
+     * @param {Object} options              priority, dedupe
      */
-    alert: function(message, completeCallback, title, buttonLabel) {
+    alert: function(message, completeCallback, title, buttonLabel, options) {
         var _title = (title || "Alert");
         var _buttonLabel = (buttonLabel || "OK");
-        exec(completeCallback, null, "Notification", "alert", [message, _title, _buttonLabel]);
+        var _options = (options || {});
+        exec(completeCallback, null, "Notification", "alert", [message, _title, _buttonLabel, _options]);
     },
     /**
      * Open a native confirm dialog, with a customizable title and button text.
@@ -74,10 +112,12 @@ module.exports = {
      * @param {Function} resultCallback     The callback that is called when user clicks on a button.
      * @param {String} title                Title of the alert dialog (default: Confirm)
      * @param {Array} buttonLabels          Array of the labels of the buttons (default: ['OK', 'Cancel'])
+     * @param {Object} options              priority, dedupe
      */
-    confirm: function(message, resultCallback, title, buttonLabels) {
+    confirm: function(message, resultCallback, title, buttonLabels, options) {
         var _title = (title || "Confirm");
         var _buttonLabels = (buttonLabels || ["OK", "Cancel"]);
+        var _options = (options || {});
 
         // Strings are deprecated!
         if (typeof _buttonLabels === 'string') {
@@ -99,7 +139,7 @@ module.exports = {
                 _buttonLabels = buttonLabelArray.toString();
             }
         }
-        exec(resultCallback, null, "Notification", "confirm", [message, _title, _buttonLabels]);
+        exec(resultCallback, null, "Notification", "confirm", [message, _title, _buttonLabels, _options]);
     },
 
     /**
@@ -113,23 +153,56 @@ module.exports = {
      * @param {String} title                Title of the dialog (default: "Prompt")
      * @param {Array} buttonLabels          Array of strings for the button labels (default: ["OK","Cancel"])
      * @param {String} defaultText          Textbox input value (default: empty string)
+     * @param {Object} options              priority, dedupe; on Android also validate
+     *                                      ({minLength, maxLength, pattern, numeric, buttons}),
+     *                                      live (true or an interval in ms) and onInput, a function
+     *                                      called with {text, valid} while the user types
      */
-    prompt: function(message, resultCallback, title, buttonLabels, defaultText) {
+    prompt: function(message, resultCallback, title, buttonLabels, defaultText, options) {
         var _message = (message || "Prompt message");
         var _title = (title || "Prompt");
         var _buttonLabels = (buttonLabels || ["OK","Cancel"]);
         var _defaultText = (defaultText || "");
-        exec(resultCallback, null, "Notification", "prompt", [_message, _title, _buttonLabels, _defaultText]);
+        var _options = {};
+        var onInput = null;
+        for (var key in (options || {})) {
+            if (key === 'onInput') {
+                onInput = options.onInput;
+            } else {
+                _options[key] = options[key];
+            }
+        }
+        var win = resultCallback;
+        if (typeof onInput === 'function') {
+            _options.live = _options.live || true;
+            // Input events arrive on the same callback as the final result.
+            win = function(result) {
+                if (result && result.event === 'input') {
+                    onInput(result);
+                } else if (resultCallback) {
+                    resultCallback(result);
+                }
+            };
+        }
+        exec(win, null, "Notification", "prompt", [_message, _title, _buttonLabels, _defaultText, _options]);
     },
 
     /**
      * Causes the device to beep.
      * On Android, the default notification ringtone is played "count" times.
      *
-     * @param {Integer} count       The number of beeps.
+     * @param {Integer} count               The number of beeps.
+     * @param {Function} completeCallback   Called with the number of beeps played once they finish (Android).
      */
-    beep: function(count) {
+    beep: function(count, completeCallback) {
         var defaultedCount = count || 1;
-        exec(null, null, "Notification", "beep", [ defaultedCount ]);
+        exec(completeCallback || null, null, "Notification", "beep", [ defaultedCount ]);
+    },
+
+    /**
+     * Stops the beeps started by beep() (Android).
+     */
+    beepStop: function() {
+        exec(null, null, "Notification", "beepStop", []);
     }
 };